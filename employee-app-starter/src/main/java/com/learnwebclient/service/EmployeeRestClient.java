@@ -44,7 +44,7 @@ public class EmployeeRestClient {
     public List<Employee> retrieveAllEmployees() {
         return webClient.get()
                 .uri(EmployeeConstants.GET_ALL_EMPLOYEES_V1)
-                .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .bodyToFlux(Employee.class)
                 .collectList()
@@ -56,7 +56,7 @@ public class EmployeeRestClient {
         try {
             return webClient.get()
                     .uri(EmployeeConstants.EMPLOYEE_BY_ID_V1, id)
-                    .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                    .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
                     .bodyToMono(Employee.class)
                     .block();
@@ -77,7 +77,7 @@ public class EmployeeRestClient {
         try {
             return webClient.get()
                     .uri(EmployeeConstants.EMPLOYEE_BY_ID_V1, id)
-                    .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                    .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
                     .bodyToMono(Employee.class)
                     .retryWhen(fixedRetry)
@@ -98,7 +98,7 @@ public class EmployeeRestClient {
     public Employee retrieveEmployeeById_custom_error_handling(int id) {
         return webClient.get()
                 .uri(EmployeeConstants.EMPLOYEE_BY_ID_V1, id)
-                .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .onStatus(HttpStatus::is4xxClientError, clientResponse -> handle4xxError(clientResponse))
                 .onStatus(HttpStatus::is5xxServerError, clientResponse -> handle5xxError(clientResponse))
@@ -130,7 +130,7 @@ public class EmployeeRestClient {
         try {
             return webClient.get()
                     .uri(uri)
-                    .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                    .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
                     .bodyToFlux(Employee.class)
                     .collectList()
@@ -152,7 +152,7 @@ public class EmployeeRestClient {
         try {
             return webClient.post()
                     .uri(EmployeeConstants.ADD_NEW_EMPLOYEE_V1)
-                    .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                    .accept(MediaType.APPLICATION_JSON)
                     .syncBody(employee)
                     .retrieve()
                     .bodyToMono(Employee.class)
@@ -174,7 +174,7 @@ public class EmployeeRestClient {
         try {
             return webClient.put()
                     .uri(EmployeeConstants.EMPLOYEE_BY_ID_V1, id)
-                    .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                    .accept(MediaType.APPLICATION_JSON)
                     .syncBody(employee)
                     .retrieve()
                     .bodyToMono(Employee.class)
@@ -198,7 +198,7 @@ public class EmployeeRestClient {
         try {
             return webClient.delete()
                     .uri(EmployeeConstants.EMPLOYEE_BY_ID_V1, employeeId)
-                    .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                    .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
                     .bodyToMono(String.class)
                     .block();
@@ -220,7 +220,7 @@ public class EmployeeRestClient {
     public String errorEndpoint() {
         return webClient.get()
                 .uri(EmployeeConstants.ERROR_EMPLOYEE_V1)
-                .accept(MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML)
+                .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .onStatus(HttpStatus::is4xxClientError, clientResponse -> handle4xxError(clientResponse))
                 .onStatus(HttpStatus::is5xxServerError, clientResponse -> handle5xxError(clientResponse))
@@ -0,0 +1,46 @@
+package com.learnwebclient.connector;
+
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.http2.client.HTTP2Client;
+import org.eclipse.jetty.http2.client.http.HttpClientTransportOverHTTP2;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.springframework.http.client.reactive.JettyClientHttpConnector;
+
+/**
+ * Builds WebClient connectors that speak HTTP/2, so concurrent requests share one multiplexed connection
+ * per host instead of a pool of HTTP/1.1 connections.
+ * <p>
+ * reactor-netty 0.8 has no HTTP/2 client, the connectors are backed by Jetty's. Plain http URLs use h2c with
+ * prior knowledge, https URLs negotiate h2 with ALPN.
+ */
+public final class Http2Connectors {
+
+    private Http2Connectors() {
+    }
+
+    /**
+     * Creates a Jetty HTTP/2 client, it's started by the connector on its first request.
+     *
+     * @param sslContextFactory trusts the certificate of the service for https URLs, null for h2c only
+     */
+    public static HttpClient httpClient(SslContextFactory.Client sslContextFactory) {
+        HttpClient httpClient = new HttpClient(new HttpClientTransportOverHTTP2(new HTTP2Client()), sslContextFactory);
+        httpClient.setName("employee-http2-client");
+        return httpClient;
+    }
+
+    public static JettyClientHttpConnector connector(SslContextFactory.Client sslContextFactory) {
+        return new JettyClientHttpConnector(httpClient(sslContextFactory));
+    }
+
+    /**
+     * Trusts the certificates of the given PKCS12 trust store, like the self-signed one of the local service.
+     */
+    public static SslContextFactory.Client trusting(String trustStorePath, String trustStorePassword) {
+        SslContextFactory.Client sslContextFactory = new SslContextFactory.Client();
+        sslContextFactory.setTrustStorePath(trustStorePath);
+        sslContextFactory.setTrustStorePassword(trustStorePassword);
+        sslContextFactory.setTrustStoreType("PKCS12");
+        return sslContextFactory;
+    }
+}
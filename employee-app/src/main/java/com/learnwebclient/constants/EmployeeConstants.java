@@ -3,9 +3,15 @@ package com.learnwebclient.constants;
 public class EmployeeConstants {
 
     public static final String GET_ALL_EMPLOYEES_V1  ="/v1/allEmployees";
+    public static final String GET_EMPLOYEES_V1  ="/v1/employees";
     public static final String EMPLOYEE_BY_ID_V1 ="/v1/employee/{id}";
     public static final String GET_EMPLOYEE_BY_NAME_V1  ="/v1/employeeName";
     public static final String ADD_EMPLOYEE_V1  ="/v1/employee";
+    public static final String ADD_EMPLOYEES_BULK_V1  ="/v1/employees/bulk";
+    public static final String IMPORT_EMPLOYEES_V1  ="/v1/employees/import";
+    public static final String EMPLOYEE_CHANGES_V1  ="/v1/employees/changes";
     public static final String ERROR_EMPLOYEE_V1  ="/v1/employee/error";
+    public static final String APPLICATION_SMILE_VALUE  ="application/x-jackson-smile";
+    public static final String APPLICATION_NDJSON_VALUE  ="application/x-ndjson";
 
 }
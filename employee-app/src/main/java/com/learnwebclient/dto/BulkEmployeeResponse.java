@@ -0,0 +1,19 @@
+package com.learnwebclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkEmployeeResponse {
+
+    private int created;
+
+    private int failed;
+
+    private List<BulkEmployeeResult> results;
+}
@@ -0,0 +1,17 @@
+package com.learnwebclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkEmployeeResult {
+
+    private int index;
+
+    private Long id;
+
+    private String error;
+}
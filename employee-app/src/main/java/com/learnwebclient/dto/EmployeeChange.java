@@ -0,0 +1,23 @@
+package com.learnwebclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeChange {
+
+    public enum Type {
+        HEAD, CREATED, UPDATED, PATCHED, DELETED
+    }
+
+    private long sequence;
+
+    private Type type;
+
+    private Long id;
+
+    private Employee employee;
+}
@@ -0,0 +1,15 @@
+package com.learnwebclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportError {
+
+    private long line;
+
+    private String error;
+}
@@ -0,0 +1,23 @@
+package com.learnwebclient.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeImportResponse {
+
+    private long created;
+
+    private long failed;
+
+    private int chunks;
+
+    private List<EmployeeImportError> errors;
+
+    private long errorsOmitted;
+}
@@ -0,0 +1,96 @@
+package com.learnwebclient.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers the ETag and the body of GET responses and revalidates them with If-None-Match.
+ * A 304 from the service is answered with the remembered body, so callers always see a 200 with the full body.
+ */
+@Slf4j
+public class ConditionalRequestFilter implements ExchangeFilterFunction {
+
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    private final Map<String, CachedResponse> cache;
+
+    public ConditionalRequestFilter(int maxEntries) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, CachedResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+
+        if (request.method() != HttpMethod.GET) {
+            return next.exchange(request);
+        }
+        // the representation depends on the negotiated media type as well
+        String key = request.url() + " " + request.headers().getAccept();
+        CachedResponse cached = cache.get(key);
+        ClientRequest conditionalRequest = cached == null ? request : ClientRequest.from(request)
+                .headers(headers -> headers.setIfNoneMatch(cached.eTag))
+                .build();
+
+        return next.exchange(conditionalRequest).flatMap(response -> {
+            if (cached != null && response.statusCode() == HttpStatus.NOT_MODIFIED) {
+                log.debug("Response for {} not modified, using the cached body", key);
+                return response.bodyToMono(Void.class)
+                        .then(Mono.fromSupplier(() -> ClientResponse.from(response)
+                                .statusCode(HttpStatus.OK)
+                                .headers(headers -> {
+                                    headers.clear();
+                                    headers.addAll(cached.headers);
+                                })
+                                .body(Flux.just(bufferFactory.wrap(cached.body)))
+                                .build()));
+            }
+            String eTag = response.headers().asHttpHeaders().getETag();
+            if (response.statusCode() != HttpStatus.OK || eTag == null) {
+                return Mono.just(response);
+            }
+            return response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
+                    .map(body -> {
+                        cache.put(key, new CachedResponse(eTag, response.headers().asHttpHeaders(), body));
+                        return ClientResponse.from(response)
+                                .body(Flux.just(bufferFactory.wrap(body)))
+                                .build();
+                    });
+        });
+    }
+
+    private static class CachedResponse {
+
+        private final String eTag;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        private CachedResponse(String eTag, HttpHeaders headers, byte[] body) {
+            this.eTag = eTag;
+            this.headers = new HttpHeaders();
+            this.headers.addAll(headers);
+            this.body = body;
+        }
+    }
+}
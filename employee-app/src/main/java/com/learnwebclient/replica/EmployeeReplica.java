@@ -0,0 +1,208 @@
+package com.learnwebclient.replica;
+
+import com.learnwebclient.dto.Employee;
+import com.learnwebclient.dto.EmployeeChange;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.learnwebclient.constants.EmployeeConstants.EMPLOYEE_CHANGES_V1;
+import static com.learnwebclient.constants.EmployeeConstants.GET_ALL_EMPLOYEES_V1;
+
+/**
+ * Local copy of the Employees of the service, kept up to date from its change feed.
+ * <p>
+ * The Employees are loaded once and then follow the changes the feed sends, so reads are map lookups instead of
+ * round trips. A dropped connection resumes after the last applied change. When the service no longer has that
+ * change, or a change is missing, the Employees are loaded again.
+ * <p>
+ * The returned Employees are shared with the replica and must not be modified.
+ */
+@Slf4j
+public class EmployeeReplica implements Closeable {
+
+    private static final ParameterizedTypeReference<ServerSentEvent<EmployeeChange>> CHANGE_EVENT =
+            new ParameterizedTypeReference<ServerSentEvent<EmployeeChange>>() {
+            };
+
+    private static final Duration RECONNECT_DELAY = Duration.ofSeconds(1);
+
+    private final WebClient webClient;
+
+    private final Map<Long, Employee> employees = new ConcurrentHashMap<>();
+
+    private final MonoProcessor<Void> loaded = MonoProcessor.create();
+
+    // -1 until the Employees are loaded, the sequence of the last applied change after
+    private volatile long sequence = -1;
+
+    private Disposable subscription;
+
+    public EmployeeReplica(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    /**
+     * Subscribes to the change feed, the returned Mono completes once the Employees are loaded.
+     */
+    public synchronized Mono<Void> start() {
+
+        if (subscription == null) {
+            subscription = Flux.defer(this::changes)
+                    // loading the Employees blocks, the changes are applied off the event loop
+                    .publishOn(Schedulers.elastic())
+                    .doOnNext(this::apply)
+                    .retryWhen(errors -> errors.flatMap(error -> {
+                        onFeedError(error);
+                        return Mono.delay(RECONNECT_DELAY);
+                    }))
+                    .repeatWhen(completions -> completions.flatMap(completion -> Mono.delay(RECONNECT_DELAY)))
+                    .subscribe();
+        }
+        return loaded;
+    }
+
+    public Optional<Employee> get(Long id) {
+        return Optional.ofNullable(employees.get(id));
+    }
+
+    public List<Employee> all() {
+        return employees.values().stream()
+                .sorted(Comparator.comparing(Employee::getId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the Employees whose first or last name contains the given name, like the service does.
+     */
+    public List<Employee> byName(String name) {
+        return employees.values().stream()
+                .filter(employee -> contains(employee.getFirstName(), name) || contains(employee.getLastName(), name))
+                .sorted(Comparator.comparing(Employee::getId))
+                .collect(Collectors.toList());
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Flux<EmployeeChange> changes() {
+
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(EMPLOYEE_CHANGES_V1);
+        if (sequence >= 0) {
+            uriBuilder.queryParam("since", sequence);
+        }
+        return webClient.get().uri(uriBuilder.build().toUriString())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(CHANGE_EVENT)
+                // heartbeats are comments without data
+                .filter(event -> event.data() != null)
+                .map(ServerSentEvent::data);
+    }
+
+    private void apply(EmployeeChange change) {
+
+        if (change.getType() == EmployeeChange.Type.HEAD) {
+            if (sequence < 0) {
+                load(change.getSequence());
+            }
+            return;
+        }
+        if (change.getSequence() <= sequence) {
+            return;
+        }
+        if (change.getSequence() > sequence + 1) {
+            String message = "Missed the changes after " + sequence + ", reloading the Employees";
+            sequence = -1;
+            throw new IllegalStateException(message);
+        }
+        switch (change.getType()) {
+            case CREATED:
+            case UPDATED:
+                employees.put(change.getId(), change.getEmployee());
+                break;
+            case PATCHED:
+                employees.computeIfPresent(change.getId(), (id, employee) -> patch(employee, change.getEmployee()));
+                break;
+            case DELETED:
+                employees.remove(change.getId());
+                break;
+            default:
+                break;
+        }
+        sequence = change.getSequence();
+    }
+
+    /**
+     * Loads the Employees as of the given sequence, the changes after it are applied on top.
+     */
+    private void load(long headSequence) {
+
+        long start = System.currentTimeMillis();
+        Map<Long, Employee> current = webClient.get().uri(GET_ALL_EMPLOYEES_V1)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(Employee.class)
+                .collectMap(Employee::getId, Function.identity())
+                .block();
+        // the readers keep seeing the previous Employees until they are replaced
+        employees.keySet().retainAll(current.keySet());
+        employees.putAll(current);
+        sequence = headSequence;
+        log.info("Replica loaded {} Employees at sequence {} in {} ms.", current.size(), headSequence,
+                System.currentTimeMillis() - start);
+        if (!loaded.isTerminated()) {
+            loaded.onComplete();
+        }
+    }
+
+    private void onFeedError(Throwable error) {
+
+        if (error instanceof WebClientResponseException
+                && ((WebClientResponseException) error).getStatusCode() == HttpStatus.GONE) {
+            sequence = -1;
+        }
+        log.warn("Change feed failed at sequence {}, reconnecting : {}", sequence, error.toString());
+    }
+
+    private static Employee patch(Employee employee, Employee fields) {
+        return new Employee(employee.getId(),
+                fields.getFirstName() == null ? employee.getFirstName() : fields.getFirstName(),
+                fields.getLastName() == null ? employee.getLastName() : fields.getLastName(),
+                fields.getAge() == null ? employee.getAge() : fields.getAge(),
+                fields.getGender() == null ? employee.getGender() : fields.getGender(),
+                fields.getRole() == null ? employee.getRole() : fields.getRole());
+    }
+
+    private static boolean contains(String value, String name) {
+        return value != null && value.contains(name);
+    }
+}
@@ -1,19 +1,41 @@
 package com.learnwebclient.service;
 
+import com.learnwebclient.connector.Http2Connectors;
+import com.learnwebclient.dto.BulkEmployeeResponse;
 import com.learnwebclient.dto.Employee;
+import com.learnwebclient.dto.EmployeeImportResponse;
+import com.learnwebclient.dto.EmployeePage;
 import com.learnwebclient.exception.ClientDataException;
 import com.learnwebclient.exception.EmployeeServiceException;
+import com.learnwebclient.filter.ConditionalRequestFilter;
+import com.learnwebclient.replica.EmployeeReplica;
 import lombok.extern.slf4j.Slf4j;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 import reactor.retry.Retry;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.util.List;
+import java.util.Set;
 
 import static com.learnwebclient.constants.EmployeeConstants.*;
 
@@ -22,10 +44,83 @@ public class EmployeeRestClient {
 
     private WebClient webClient;
 
+    private EmployeeReplica replica;
+
     public EmployeeRestClient(WebClient webClient) {
         this.webClient = webClient;
     }
 
+    /**
+     * Creates a client that remembers the ETags of up to maxCachedResponses GET responses and revalidates them,
+     * so unchanged resources come back as empty 304 responses from the service.
+     */
+    public static EmployeeRestClient withConditionalRequests(WebClient webClient, int maxCachedResponses) {
+        return new EmployeeRestClient(webClient.mutate()
+                .filter(new ConditionalRequestFilter(maxCachedResponses))
+                .build());
+    }
+
+    /**
+     * Creates a client that asks for Smile ahead of JSON and accepts gzip compressed responses.
+     * The connector of the passed WebClient is replaced by one that decompresses the responses.
+     */
+    public static EmployeeRestClient withBinaryFormats(WebClient webClient) {
+        return new EmployeeRestClient(webClient.mutate()
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().compress(true)))
+                .exchangeStrategies(ExchangeStrategies.builder()
+                        .codecs(configurer -> {
+                            configurer.customCodecs().decoder(new Jackson2SmileDecoder());
+                            configurer.customCodecs().encoder(new Jackson2SmileEncoder());
+                        })
+                        .build())
+                .defaultHeader(HttpHeaders.ACCEPT, APPLICATION_SMILE_VALUE + ", " + MediaType.APPLICATION_JSON_VALUE + ";q=0.9")
+                .build());
+    }
+
+    /**
+     * Creates a client that sends its requests over one multiplexed HTTP/2 connection, h2c for an http base URL.
+     * The connector of the passed WebClient is replaced by an HTTP/2 one.
+     */
+    public static EmployeeRestClient withHttp2(WebClient webClient) {
+        return withHttp2(webClient, null);
+    }
+
+    /**
+     * Same as {@link #withHttp2(WebClient)}, an https base URL negotiates h2 and trusts the certificates of the
+     * given SslContextFactory, e.g. {@link Http2Connectors#trusting(String, String)}.
+     */
+    public static EmployeeRestClient withHttp2(WebClient webClient, SslContextFactory.Client sslContextFactory) {
+        return new EmployeeRestClient(webClient.mutate()
+                .clientConnector(Http2Connectors.connector(sslContextFactory))
+                .build());
+    }
+
+    /**
+     * Creates a client that answers retrieveAllEmployees, retrieveEmployeeById and retrieveEmployeeByName from a
+     * local replica of the Employees, kept up to date from the change feed of the service. Blocks until the
+     * replica is loaded, the other calls still go to the service. The feed subscription is disposed when the
+     * replica isn't loaded within the loadTimeout.
+     */
+    public static EmployeeRestClient withReplica(WebClient webClient, Duration loadTimeout) {
+        EmployeeRestClient employeeRestClient = new EmployeeRestClient(webClient);
+        employeeRestClient.replica = new EmployeeReplica(webClient);
+        try {
+            employeeRestClient.replica.start().block(loadTimeout);
+        } catch (RuntimeException e) {
+            // nobody gets the replica to close it, it would keep reconnecting to the feed
+            employeeRestClient.replica.close();
+            throw e;
+        }
+        return employeeRestClient;
+    }
+
+    /**
+     * Returns the replica the reads are answered from, null unless the client was created withReplica.
+     */
+    public EmployeeReplica getReplica() {
+        return replica;
+    }
+
     public static Retry<?> fixedRetry = Retry.anyOf(WebClientResponseException .class)
             .fixedBackoff(Duration.ofSeconds(2))
             .retryMax(3)
@@ -59,7 +154,17 @@ public class EmployeeRestClient {
         });
     }
 
+    // same exception as a 404 from the service, so callers don't have to tell the modes apart
+    private static WebClientResponseException notFound(String message) {
+        log.error(message);
+        return WebClientResponseException.create(HttpStatus.NOT_FOUND.value(), HttpStatus.NOT_FOUND.getReasonPhrase(),
+                HttpHeaders.EMPTY, message.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
     public List<Employee> retrieveAllEmployees() {
+        if (replica != null) {
+            return replica.all();
+        }
         try {
             return webClient.get().uri(GET_ALL_EMPLOYEES_V1)
                     .retrieve()
@@ -77,8 +182,69 @@ public class EmployeeRestClient {
     }
 
 
+    /**
+     * Retrieves all the Employees with only the given fields populated, the others are left null.
+     */
+    public List<Employee> retrieveAllEmployees(Set<String> fields) {
+
+        String uri = UriComponentsBuilder.fromUriString(GET_ALL_EMPLOYEES_V1)
+                .queryParam("fields", String.join(",", fields))
+                .build().toUriString();
+        try {
+            return webClient.get().uri(uri)
+                    .retrieve()
+                    .bodyToFlux(Employee.class)
+                    .collectList()
+                    .block();
+        } catch (WebClientResponseException ex) {
+            log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString());
+            log.error("WebClientResponseException in retrieveAllEmployees", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Exception in retrieveAllEmployees ", ex);
+            throw ex;
+        }
+    }
+
+    public Flux<Employee> streamAllEmployees() {
+
+        return webClient.get().uri(GET_ALL_EMPLOYEES_V1)
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .retrieve()
+                .bodyToFlux(Employee.class)
+                .doOnError(WebClientResponseException.class, ex ->
+                        log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString()));
+    }
+
+    public Flux<Employee> retrieveAllEmployeesPaged(int pageSize) {
+
+        return retrieveEmployeePage(null, pageSize)
+                .expand(page -> page.getNextCursor() == null
+                        ? Mono.empty()
+                        : retrieveEmployeePage(page.getNextCursor(), pageSize))
+                .flatMapIterable(EmployeePage::getEmployees);
+    }
+
+    public Mono<EmployeePage> retrieveEmployeePage(String cursor, int pageSize) {
+
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder.fromUriString(GET_EMPLOYEES_V1)
+                .queryParam("size", pageSize);
+        if (cursor != null) {
+            uriBuilder.queryParam("cursor", cursor);
+        }
+        return webClient.get().uri(uriBuilder.build().toUriString())
+                .retrieve()
+                .bodyToMono(EmployeePage.class)
+                .doOnError(WebClientResponseException.class, ex ->
+                        log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString()));
+    }
+
     public Employee retrieveEmployeeById(int employeeId) {
 
+        if (replica != null) {
+            return replica.get((long) employeeId)
+                    .orElseThrow(() -> notFound("Employee not found in the replica : " + employeeId));
+        }
         try {
             return webClient.get().uri(EMPLOYEE_BY_ID_V1, employeeId)
                     .retrieve()
@@ -94,6 +260,26 @@ public class EmployeeRestClient {
         }
     }
 
+    public Employee retrieveEmployeeById(int employeeId, Set<String> fields) {
+
+        String uri = UriComponentsBuilder.fromUriString(EMPLOYEE_BY_ID_V1)
+                .queryParam("fields", String.join(",", fields))
+                .buildAndExpand(employeeId).toUriString();
+        try {
+            return webClient.get().uri(uri)
+                    .retrieve()
+                    .bodyToMono(Employee.class)
+                    .block();
+        } catch (WebClientResponseException ex) {
+            log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString());
+            log.error("WebClientResponseException in retrieveEmployeeById", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Exception in retrieveEmployeeById ", ex);
+            throw ex;
+        }
+    }
+
     public Employee retrieveEmployeeById_Custom_Error_Handling(int employeeId) {
 
         return webClient.get().uri(EMPLOYEE_BY_ID_V1, employeeId)
@@ -124,8 +310,37 @@ public class EmployeeRestClient {
 
     public List<Employee> retrieveEmployeeByName(String employeeName) {
 
+        if (replica != null) {
+            List<Employee> employees = replica.byName(employeeName);
+            if (employees.isEmpty()) {
+                throw notFound("No Employees found in the replica for the name : " + employeeName);
+            }
+            return employees;
+        }
+        String uri = UriComponentsBuilder.fromUriString(GET_EMPLOYEE_BY_NAME_V1)
+                .queryParam("employee_name", employeeName)
+                .build().toUriString();
+        try {
+            return webClient.get().uri(uri)
+                    .retrieve()
+                    .bodyToFlux(Employee.class)
+                    .collectList()
+                    .block();
+        } catch (WebClientResponseException ex) {
+            log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString());
+            log.error("WebClientResponseException in retrieveEmployeeByName", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Exception in retrieveEmployeeByName ", ex);
+            throw ex;
+        }
+    }
+
+    public List<Employee> retrieveEmployeeByName(String employeeName, Set<String> fields) {
+
         String uri = UriComponentsBuilder.fromUriString(GET_EMPLOYEE_BY_NAME_V1)
                 .queryParam("employee_name", employeeName)
+                .queryParam("fields", String.join(",", fields))
                 .build().toUriString();
         try {
             return webClient.get().uri(uri)
@@ -143,6 +358,19 @@ public class EmployeeRestClient {
         }
     }
 
+    public Flux<Employee> streamEmployeeByName(String employeeName) {
+
+        String uri = UriComponentsBuilder.fromUriString(GET_EMPLOYEE_BY_NAME_V1)
+                .queryParam("employee_name", employeeName)
+                .build().toUriString();
+        return webClient.get().uri(uri)
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .retrieve()
+                .bodyToFlux(Employee.class)
+                .doOnError(WebClientResponseException.class, ex ->
+                        log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString()));
+    }
+
     public Employee addNewEmployee(Employee employee) {
         try {
             return webClient.post().uri(ADD_EMPLOYEE_V1)
@@ -160,6 +388,56 @@ public class EmployeeRestClient {
         }
     }
 
+    public BulkEmployeeResponse addNewEmployees(List<Employee> employees) {
+        try {
+            return webClient.post().uri(ADD_EMPLOYEES_BULK_V1)
+                    .syncBody(employees)
+                    .retrieve()
+                    .bodyToMono(BulkEmployeeResponse.class)
+                    .block();
+        } catch (WebClientResponseException ex) {
+            log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString());
+            log.error("WebClientResponseException in addNewEmployees", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Exception in addNewEmployees ", ex);
+            throw ex;
+        }
+    }
+
+    /**
+     * Imports the Employees as they are emitted, they are encoded one per line into the request body
+     * and are not collected in memory first.
+     */
+    public EmployeeImportResponse importEmployees(Flux<Employee> employees) {
+        return importEmployees(MediaType.APPLICATION_STREAM_JSON, BodyInserters.fromPublisher(employees, Employee.class));
+    }
+
+    /**
+     * Imports the Employees of a newline delimited JSON file, the file is streamed as the request body.
+     */
+    public EmployeeImportResponse importEmployees(Path ndjsonFile) {
+        return importEmployees(MediaType.valueOf(APPLICATION_NDJSON_VALUE), BodyInserters.fromResource(new FileSystemResource(ndjsonFile)));
+    }
+
+    private EmployeeImportResponse importEmployees(MediaType contentType, BodyInserter<?, ? super ClientHttpRequest> body) {
+        try {
+            return webClient.post().uri(IMPORT_EMPLOYEES_V1)
+                    .contentType(contentType)
+                    .body(body)
+                    .retrieve()
+                    .bodyToMono(EmployeeImportResponse.class)
+                    .block();
+        } catch (WebClientResponseException ex) {
+            log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString());
+            log.error("WebClientResponseException in importEmployees", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Exception in importEmployees ", ex);
+            throw ex;
+        }
+    }
+
     public Employee addNewEmployee_custom_Error_Handling(Employee employee) {
             return webClient.post().uri(ADD_EMPLOYEE_V1)
                     .syncBody(employee)
@@ -188,6 +466,24 @@ public class EmployeeRestClient {
         }
     }
 
+    public void patchEmployee(int id, Employee employee) {
+
+        try {
+            webClient.patch().uri(EMPLOYEE_BY_ID_V1, id)
+                    .syncBody(employee)
+                    .retrieve()
+                    .bodyToMono(Void.class)
+                    .block();
+        } catch (WebClientResponseException ex) {
+            log.error("Error Response code is : {} and the message is {}", ex.getRawStatusCode(), ex.getResponseBodyAsString());
+            log.error("WebClientResponseException in patchEmployee", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("Exception in patchEmployee ", ex);
+            throw ex;
+        }
+    }
+
     public String deleteEmployeeById(int id) {
         try {
             return webClient.delete().uri(EMPLOYEE_BY_ID_V1, id)
@@ -0,0 +1,92 @@
+package com.learnwebclient.benchmark;
+
+import com.learnwebclient.dto.Employee;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.learnwebclient.constants.EmployeeConstants.EMPLOYEE_BY_ID_V1;
+import static com.learnwebclient.constants.EmployeeConstants.GET_ALL_EMPLOYEES_V1;
+
+/**
+ * Measures the latency of the reads by id alone and while scans of all the Employees keep more requests in
+ * flight than the service has worker threads, to check the scans can't starve the reads by id.
+ * <p>
+ * Runs against a running service, best with many Employees loaded by the generate profile. The arguments are the
+ * base URL, the number of reads by id, their concurrency and the concurrency of the scans:
+ * <pre>
+ * IsolationBenchmark http://localhost:8081/employeeservice 20000 32 300
+ * </pre>
+ */
+public class IsolationBenchmark {
+
+    public static void main(String[] args) {
+
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081/employeeservice";
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 32;
+        int scanConcurrency = args.length > 3 ? Integer.parseInt(args[3]) : 300;
+
+        // separate clients, the scans don't take the connections of the reads by id
+        WebClient reads = WebClient.create(baseUrl);
+        WebClient scans = WebClient.create(baseUrl);
+
+        // warms up the JIT of both sides and opens the connections
+        latencies(reads, Math.min(requests, 2000), concurrency);
+        report("alone", latencies(reads, requests, concurrency));
+
+        AtomicLong completed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        Disposable scanning = Flux.range(0, Integer.MAX_VALUE)
+                .flatMap(i -> scans.get().uri(GET_ALL_EMPLOYEES_V1)
+                        .retrieve()
+                        .bodyToMono(byte[].class)
+                        .doOnNext(body -> completed.incrementAndGet())
+                        .onErrorResume(WebClientResponseException.ServiceUnavailable.class, e -> {
+                            rejected.incrementAndGet();
+                            return Mono.empty();
+                        }), scanConcurrency)
+                .subscribe();
+        try {
+            report("scanning", latencies(reads, requests, concurrency));
+        } finally {
+            scanning.dispose();
+        }
+        System.out.printf("scans    completed %d  rejected with a 503 %d%n", completed.get(), rejected.get());
+    }
+
+    private static long[] latencies(WebClient webClient, int requests, int concurrency) {
+        return Flux.range(0, requests)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return webClient.get().uri(EMPLOYEE_BY_ID_V1, 1 + i % 4)
+                            .retrieve()
+                            .bodyToMono(Employee.class)
+                            .map(employee -> System.nanoTime() - start);
+                }, concurrency)
+                .collectList()
+                .block()
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private static void report(String phase, long[] latencies) {
+        Arrays.sort(latencies);
+        System.out.printf("%-8s p50 %6.2f ms  p99 %6.2f ms  max %7.2f ms%n", phase, millis(percentile(latencies, 0.50)),
+                millis(percentile(latencies, 0.99)), millis(latencies[latencies.length - 1]));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
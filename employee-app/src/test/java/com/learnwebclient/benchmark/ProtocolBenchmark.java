@@ -0,0 +1,102 @@
+package com.learnwebclient.benchmark;
+
+import com.learnwebclient.connector.Http2Connectors;
+import com.learnwebclient.dto.Employee;
+import org.eclipse.jetty.client.AbstractConnectionPool;
+import org.eclipse.jetty.client.HttpDestination;
+import org.springframework.http.client.reactive.JettyClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static com.learnwebclient.constants.EmployeeConstants.EMPLOYEE_BY_ID_V1;
+
+/**
+ * Compares HTTP/1.1 over reactor-netty with HTTP/2 over the Jetty connector: connections opened to the service,
+ * latency percentiles and throughput of concurrent reads by id.
+ * <p>
+ * Runs against a running service, the arguments are the base URL, the number of requests and the concurrency:
+ * <pre>
+ * ProtocolBenchmark http://localhost:8081/employeeservice 20000 256
+ * </pre>
+ */
+public class ProtocolBenchmark {
+
+    public static void main(String[] args) throws Exception {
+
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081/employeeservice";
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+
+        AtomicLong http11Connections = new AtomicLong();
+        HttpClient nettyClient = HttpClient.create()
+                .tcpConfiguration(tcpClient -> tcpClient.doOnConnected(connection -> http11Connections.incrementAndGet()));
+        WebClient http11 = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(nettyClient))
+                .build();
+        run("HTTP/1.1", http11, http11Connections::get, requests, concurrency);
+
+        org.eclipse.jetty.client.HttpClient jettyClient = Http2Connectors.httpClient(null);
+        WebClient http2 = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new JettyClientHttpConnector(jettyClient))
+                .build();
+        try {
+            run("HTTP/2", http2, () -> jettyConnections(jettyClient), requests, concurrency);
+        } finally {
+            jettyClient.stop();
+        }
+    }
+
+    private static void run(String protocol, WebClient webClient, LongSupplier connections, int requests, int concurrency) {
+
+        // warms up the JIT of both sides and opens the connections
+        latencies(webClient, Math.min(requests, 2000), concurrency);
+
+        long start = System.nanoTime();
+        long[] latencies = latencies(webClient, requests, concurrency);
+        long elapsed = System.nanoTime() - start;
+        Arrays.sort(latencies);
+        System.out.printf("%-8s connections %4d  p50 %6.2f ms  p99 %6.2f ms  max %7.2f ms  %8.0f requests/s%n",
+                protocol, connections.getAsLong(), millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                millis(latencies[latencies.length - 1]), requests / (elapsed / 1e9));
+    }
+
+    private static long[] latencies(WebClient webClient, int requests, int concurrency) {
+        return Flux.range(0, requests)
+                .flatMap(i -> {
+                    long start = System.nanoTime();
+                    return webClient.get().uri(EMPLOYEE_BY_ID_V1, 1 + i % 4)
+                            .retrieve()
+                            .bodyToMono(Employee.class)
+                            .map(employee -> System.nanoTime() - start);
+                }, concurrency)
+                .collectList()
+                .block()
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private static long jettyConnections(org.eclipse.jetty.client.HttpClient jettyClient) {
+        return jettyClient.getDestinations().stream()
+                .map(destination -> ((HttpDestination) destination).getConnectionPool())
+                .filter(AbstractConnectionPool.class::isInstance)
+                .mapToLong(pool -> ((AbstractConnectionPool) pool).getConnectionCount())
+                .sum();
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
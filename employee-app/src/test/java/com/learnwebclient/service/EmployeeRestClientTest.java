@@ -1,18 +1,31 @@
 package com.learnwebclient.service;
 
+import com.learnwebclient.dto.BulkEmployeeResponse;
 import com.learnwebclient.dto.Employee;
+import com.learnwebclient.dto.EmployeeImportResponse;
 import com.learnwebclient.exception.ClientDataException;
 import com.learnwebclient.exception.EmployeeServiceException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.retry.RetryExhaustedException;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class EmployeeRestClientTest {
@@ -27,6 +40,37 @@ public class EmployeeRestClientTest {
         assertTrue(employeeList.size()>0);
     }
 
+    @Test
+    void retrieveAllEmployees_Fields(){
+        List<Employee> employeeList = employeeRestClient.retrieveAllEmployees(new HashSet<>(Arrays.asList("id", "role")));
+        assertTrue(employeeList.size()>0);
+        assertNotNull(employeeList.get(0).getId());
+        assertNull(employeeList.get(0).getFirstName());
+    }
+
+    @Test
+    void retrieveAllEmployees_BinaryFormats(){
+        EmployeeRestClient binaryRestClient = EmployeeRestClient.withBinaryFormats(webClient);
+        List<Employee> employeeList = binaryRestClient.retrieveAllEmployees();
+        assertEquals(employeeRestClient.retrieveAllEmployees(), employeeList);
+    }
+
+    @Test
+    void streamAllEmployees(){
+        List<Employee> employeeList = employeeRestClient.streamAllEmployees()
+                .collectList()
+                .block();
+        assertTrue(employeeList.size()>0);
+    }
+
+    @Test
+    void retrieveAllEmployeesPaged(){
+        List<Employee> employeeList = employeeRestClient.retrieveAllEmployeesPaged(2)
+                .collectList()
+                .block();
+        assertEquals(employeeRestClient.retrieveAllEmployees().size(), employeeList.size());
+    }
+
     @Test
     void retrieveEmployeeById(){
         int employeeId = 1;
@@ -34,6 +78,23 @@ public class EmployeeRestClientTest {
         assertEquals("Chris", employee.getFirstName());
     }
 
+    @Test
+    void retrieveEmployeeById_Fields(){
+        int employeeId = 1;
+        Employee employee = employeeRestClient.retrieveEmployeeById(employeeId, Collections.singleton("firstName"));
+        assertEquals("Chris", employee.getFirstName());
+        assertNull(employee.getLastName());
+    }
+
+    @Test
+    void retrieveEmployeeById_ConditionalRequests(){
+        EmployeeRestClient conditionalRestClient = EmployeeRestClient.withConditionalRequests(webClient, 100);
+        int employeeId = 1;
+        Employee employee = conditionalRestClient.retrieveEmployeeById(employeeId);
+        Employee revalidatedEmployee = conditionalRestClient.retrieveEmployeeById(employeeId);
+        assertEquals(employee, revalidatedEmployee);
+    }
+
     @Test
     void retrieveEmployeeById_NotFound(){
         int employeeId = 100;
@@ -56,12 +117,65 @@ public class EmployeeRestClientTest {
     }
 
 
+    @Test
+    void retrieveEmployeeById_Http2(){
+        EmployeeRestClient http2RestClient = EmployeeRestClient.withHttp2(webClient);
+        int employeeId = 1;
+        assertEquals(employeeRestClient.retrieveEmployeeById(employeeId), http2RestClient.retrieveEmployeeById(employeeId));
+        assertEquals(employeeRestClient.retrieveAllEmployees(), http2RestClient.retrieveAllEmployees());
+        Assertions.assertThrows(WebClientResponseException.class, () -> http2RestClient.retrieveEmployeeById(100));
+    }
+
+    @Test
+    void retrieveEmployeeById_Replica(){
+        EmployeeRestClient replicaRestClient = EmployeeRestClient.withReplica(webClient, Duration.ofSeconds(10));
+        try {
+            int employeeId = 1;
+            assertEquals(employeeRestClient.retrieveEmployeeById(employeeId), replicaRestClient.retrieveEmployeeById(employeeId));
+            assertEquals(employeeRestClient.retrieveEmployeeByName("Sandler"), replicaRestClient.retrieveEmployeeByName("Sandler"));
+            Assertions.assertThrows(WebClientResponseException.class, () -> replicaRestClient.retrieveEmployeeById(100));
+        } finally {
+            replicaRestClient.getReplica().close();
+        }
+    }
+
+    @Test
+    void retrieveEmployeeById_Replica_FollowsChanges() throws InterruptedException {
+        EmployeeRestClient replicaRestClient = EmployeeRestClient.withReplica(webClient, Duration.ofSeconds(10));
+        try {
+            Employee employee = employeeRestClient.addNewEmployee(new Employee(null,"Iron", "Man", 54, "male", "Architect"));
+            int employeeId = employee.getId().intValue();
+            employeeRestClient.patchEmployee(employeeId, new Employee(null, null, null, 55, null, null));
+
+            Employee replicated = null;
+            for (int i = 0; i < 50 && (replicated == null || replicated.getAge() != 55); i++) {
+                Thread.sleep(100);
+                replicated = replicaRestClient.getReplica().get((long) employeeId).orElse(null);
+            }
+            assertNotNull(replicated);
+            assertEquals("Iron", replicated.getFirstName());
+            assertEquals(55, replicated.getAge());
+
+            employeeRestClient.deleteEmployeeById(employeeId);
+        } finally {
+            replicaRestClient.getReplica().close();
+        }
+    }
+
     @Test
     void retrieveEmployeeByName(){
         List<Employee> employees =employeeRestClient.retrieveEmployeeByName("Sandler");
         assertEquals(1, employees.size());
     }
 
+    @Test
+    void streamEmployeeByName(){
+        List<Employee> employees = employeeRestClient.streamEmployeeByName("Sandler")
+                .collectList()
+                .block();
+        assertEquals(1, employees.size());
+    }
+
     @Test
     void retrieveEmployeeByName_NotFound(){
         Assertions.assertThrows(WebClientResponseException.class, () -> employeeRestClient.retrieveEmployeeByName("ABC"));
@@ -77,6 +191,45 @@ public class EmployeeRestClientTest {
 
     }
 
+    @Test
+    void addNewEmployees(){
+        List<Employee> employees = Arrays.asList(new Employee(null,"Iron", "Man", 54, "male", "Architect"),
+                new Employee(null,null, "Man", 54, "male", "Architect"));
+
+        BulkEmployeeResponse response = employeeRestClient.addNewEmployees(employees);
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertEquals("Please pass all the input fields : [firstName]", response.getResults().get(1).getError());
+
+    }
+
+    @Test
+    void importEmployees(){
+        Flux<Employee> employees = Flux.range(0, 2500)
+                .map(i -> new Employee(null, "Import" + i, "Man", 54, "male", i == 1000 ? null : "Architect"));
+
+        EmployeeImportResponse response = employeeRestClient.importEmployees(employees);
+        assertEquals(2499, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertEquals(1001, response.getErrors().get(0).getLine());
+        assertEquals("Please pass all the input fields : [role]", response.getErrors().get(0).getError());
+
+    }
+
+    @Test
+    void importEmployees_File(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("employees.ndjson");
+        Files.write(file, Arrays.asList(
+                "{\"firstName\":\"Iron\",\"lastName\":\"Man\",\"age\":54,\"gender\":\"male\",\"role\":\"Architect\"}",
+                "not json"));
+
+        EmployeeImportResponse response = employeeRestClient.importEmployees(file);
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertEquals(2, response.getErrors().get(0).getLine());
+
+    }
+
     @Test
     void addNewEmployee_BadRequest(){
         Employee employee = new Employee(null,null, "Man", 54, "male", "Architect");
@@ -112,6 +265,25 @@ public class EmployeeRestClientTest {
 
     }
 
+    @Test
+    void patchEmployee(){
+
+        int employeeId = 2;
+        Employee employee = new Employee(null,null, null, 51, null, null);
+        employeeRestClient.patchEmployee(employeeId, employee);
+        assertEquals(51, employeeRestClient.retrieveEmployeeById(employeeId).getAge());
+
+    }
+
+    @Test
+    void patchEmployee_NotFound(){
+
+        int employeeId = 100;
+        Employee employee = new Employee(null,"Chris1", null, null, null, null);
+        Assertions.assertThrows(WebClientResponseException.class,() ->  employeeRestClient.patchEmployee(employeeId, employee));
+
+    }
+
     @Test
     void deleteEmployee(){
 
@@ -0,0 +1,140 @@
+package com.employeeservice.admission;
+
+import com.employeeservice.exception.EmployeeErrorException;
+import com.employeeservice.exception.ErrorBodies;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.employeeservice.constants.EmployeeConstants.OVERLOADED_MESSAGE;
+
+/**
+ * Admission control in front of the EmployeeController, so an overload is answered with fast 503s instead of
+ * a growing queue that slows down every request.
+ * <p>
+ * The requests are split in the three {@link RequestClass}es, each with its own {@link ConcurrencyLimit}: the
+ * writes, the reads of a single Employee by id and the other reads, which list or search the Employees. A slow
+ * search then can't take the permits of the cheap reads, and reads can't starve the writes.
+ * <p>
+ * Runs inside the {@link BulkheadFilter}, only the requests that got a permit of their bulkhead are admitted.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(value = "employee.admission.enabled", matchIfMissing = true)
+@Order(AdmissionControlFilter.ORDER)
+public class AdmissionControlFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final int ORDER = BulkheadFilter.ORDER + 10;
+
+    private final ConcurrencyLimit writes;
+
+    private final ConcurrencyLimit byIdReads;
+
+    private final ConcurrencyLimit reads;
+
+    @Autowired
+    ErrorBodies errorBodies;
+
+    @Value("${employee.admission.retry-after-seconds:1}")
+    long retryAfterSeconds;
+
+    public AdmissionControlFilter(@Value("${employee.admission.min-limit:4}") int minLimit,
+                                  @Value("${employee.admission.writes.initial-limit:20}") int writesInitialLimit,
+                                  @Value("${employee.admission.writes.max-limit:200}") int writesMaxLimit,
+                                  @Value("${employee.admission.by-id-reads.initial-limit:100}") int byIdReadsInitialLimit,
+                                  @Value("${employee.admission.by-id-reads.max-limit:1000}") int byIdReadsMaxLimit,
+                                  @Value("${employee.admission.reads.initial-limit:20}") int readsInitialLimit,
+                                  @Value("${employee.admission.reads.max-limit:200}") int readsMaxLimit) {
+        this.writes = new ConcurrencyLimit(RequestClass.WRITES.getName(), writesInitialLimit, minLimit, writesMaxLimit);
+        this.byIdReads = new ConcurrencyLimit(RequestClass.BY_ID_READS.getName(), byIdReadsInitialLimit, minLimit, byIdReadsMaxLimit);
+        this.reads = new ConcurrencyLimit(RequestClass.READS.getName(), readsInitialLimit, minLimit, readsMaxLimit);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestClass requestClass = RequestClass.of(request);
+        if (requestClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ConcurrencyLimit limit = limitFor(requestClass);
+        if (!limit.tryAcquire()) {
+            reject(response, errorBodies, limit.getName(), retryAfterSeconds);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (ConcurrencyLimit limit : limits()) {
+            Gauge.builder("employee.admission.limit", limit, ConcurrencyLimit::getLimit)
+                    .tag("class", limit.getName())
+                    .description("Requests of the class that are let in at the same time")
+                    .register(registry);
+            Gauge.builder("employee.admission.in.flight", limit, ConcurrencyLimit::getInFlight)
+                    .tag("class", limit.getName())
+                    .description("Requests of the class that are being served")
+                    .register(registry);
+            FunctionCounter.builder("employee.admission.rejections", limit, ConcurrencyLimit::getRejections)
+                    .tag("class", limit.getName())
+                    .description("Requests of the class rejected with a 503 because the limit was reached")
+                    .register(registry);
+        }
+    }
+
+    List<ConcurrencyLimit> limits() {
+        return Arrays.asList(writes, byIdReads, reads);
+    }
+
+    private ConcurrencyLimit limitFor(RequestClass requestClass) {
+        switch (requestClass) {
+            case WRITES:
+                return writes;
+            case BY_ID_READS:
+                return byIdReads;
+            default:
+                return reads;
+        }
+    }
+
+    /**
+     * Answers the request with a 503 and a Retry-After header, shared with the {@link BulkheadFilter}.
+     */
+    static void reject(HttpServletResponse response, ErrorBodies errorBodies, String requestClass, long retryAfterSeconds)
+            throws IOException {
+
+        byte[] body = errorBodies.render(new EmployeeErrorException(HttpStatus.SERVICE_UNAVAILABLE, OVERLOADED_MESSAGE, requestClass));
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
@@ -0,0 +1,113 @@
+package com.employeeservice.admission;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed number of worker threads a class of requests may hold, so a class that slows down can't take the
+ * threads of the others.
+ * <p>
+ * A request that finds every permit taken waits for one in a queue of at most maxQueued requests, for at most
+ * maxWait. It's rejected when the queue is full or the wait times out, the threads a class holds are never more
+ * than maxConcurrent + maxQueued. The waiting requests get the permits in the order they arrived.
+ */
+public class Bulkhead {
+
+    private final String name;
+
+    private final int maxConcurrent;
+
+    private final int maxQueued;
+
+    private final long maxWaitNanos;
+
+    private final Semaphore permits;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder queueFullRejections = new LongAdder();
+
+    private final LongAdder timeoutRejections = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueued, long maxWaitMillis) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Takes a permit, waiting for one when they are all taken, counts a rejection when none could be taken.
+     */
+    public boolean tryEnter() {
+
+        // a zero timeout, unlike tryAcquire(), doesn't take the permit ahead of the requests already waiting
+        if (tryAcquire(0)) {
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            queueFullRejections.increment();
+            return false;
+        }
+        try {
+            if (tryAcquire(maxWaitNanos)) {
+                return true;
+            }
+            timeoutRejections.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    /**
+     * Gives back a permit taken by tryEnter.
+     */
+    public void exit() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return queued.get();
+    }
+
+    /**
+     * Share of the permits taken, 1 once requests have to wait.
+     */
+    public double getSaturation() {
+        return (double) getActive() / maxConcurrent;
+    }
+
+    public long getQueueFullRejections() {
+        return queueFullRejections.sum();
+    }
+
+    public long getTimeoutRejections() {
+        return timeoutRejections.sum();
+    }
+
+    private boolean tryAcquire(long timeoutNanos) {
+        try {
+            return permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.employeeservice.admission;
+
+import com.employeeservice.exception.ErrorBodies;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link Bulkhead} per {@link RequestClass} in front of the EmployeeController, so a burst of slow scans can't
+ * hold every Tomcat worker thread while the reads by id, which take a millisecond, wait behind them.
+ * <p>
+ * Unlike the adaptive limits of the {@link AdmissionControlFilter}, the bulkheads are fixed and let a short
+ * burst wait for a permit instead of rejecting it right away. The threads the three bulkheads can hold stay
+ * below the worker threads of Tomcat with the defaults, a request that times out or finds the queue full is
+ * answered with a 503 and a Retry-After header.
+ * <p>
+ * The bulkhead runs before the admission control, a request waiting for a permit of the bulkhead doesn't hold
+ * one of the limits and count in the latencies they adapt to. Both run after the metrics filter of Spring Boot,
+ * so their 503s are recorded.
+ */
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(value = "employee.bulkhead.enabled", matchIfMissing = true)
+@Order(BulkheadFilter.ORDER)
+public class BulkheadFilter extends OncePerRequestFilter implements MeterBinder {
+
+    static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 100;
+
+    private final Bulkhead writes;
+
+    private final Bulkhead byIdReads;
+
+    private final Bulkhead reads;
+
+    @Autowired
+    ErrorBodies errorBodies;
+
+    @Value("${employee.admission.retry-after-seconds:1}")
+    long retryAfterSeconds;
+
+    public BulkheadFilter(@Value("${employee.bulkhead.writes.max-concurrent:20}") int writesMaxConcurrent,
+                          @Value("${employee.bulkhead.writes.max-queued:20}") int writesMaxQueued,
+                          @Value("${employee.bulkhead.writes.max-wait-millis:500}") long writesMaxWaitMillis,
+                          @Value("${employee.bulkhead.by-id-reads.max-concurrent:100}") int byIdReadsMaxConcurrent,
+                          @Value("${employee.bulkhead.by-id-reads.max-queued:30}") int byIdReadsMaxQueued,
+                          @Value("${employee.bulkhead.by-id-reads.max-wait-millis:100}") long byIdReadsMaxWaitMillis,
+                          @Value("${employee.bulkhead.reads.max-concurrent:10}") int readsMaxConcurrent,
+                          @Value("${employee.bulkhead.reads.max-queued:10}") int readsMaxQueued,
+                          @Value("${employee.bulkhead.reads.max-wait-millis:2000}") long readsMaxWaitMillis) {
+        this.writes = new Bulkhead(RequestClass.WRITES.getName(), writesMaxConcurrent, writesMaxQueued, writesMaxWaitMillis);
+        this.byIdReads = new Bulkhead(RequestClass.BY_ID_READS.getName(), byIdReadsMaxConcurrent, byIdReadsMaxQueued,
+                byIdReadsMaxWaitMillis);
+        this.reads = new Bulkhead(RequestClass.READS.getName(), readsMaxConcurrent, readsMaxQueued, readsMaxWaitMillis);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestClass requestClass = RequestClass.of(request);
+        if (requestClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Bulkhead bulkhead = bulkheadFor(requestClass);
+        if (!bulkhead.tryEnter()) {
+            AdmissionControlFilter.reject(response, errorBodies, bulkhead.getName(), retryAfterSeconds);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Bulkhead bulkhead : bulkheads()) {
+            Gauge.builder("employee.bulkhead.active", bulkhead, Bulkhead::getActive)
+                    .tag("class", bulkhead.getName())
+                    .description("Requests of the class holding a permit of the bulkhead")
+                    .register(registry);
+            Gauge.builder("employee.bulkhead.queued", bulkhead, Bulkhead::getQueued)
+                    .tag("class", bulkhead.getName())
+                    .description("Requests of the class waiting for a permit of the bulkhead")
+                    .register(registry);
+            Gauge.builder("employee.bulkhead.saturation", bulkhead, Bulkhead::getSaturation)
+                    .tag("class", bulkhead.getName())
+                    .description("Share of the permits of the bulkhead that are taken")
+                    .register(registry);
+            FunctionCounter.builder("employee.bulkhead.rejections", bulkhead, Bulkhead::getQueueFullRejections)
+                    .tag("class", bulkhead.getName())
+                    .tag("reason", "queue-full")
+                    .description("Requests of the class rejected with a 503 by the bulkhead")
+                    .register(registry);
+            FunctionCounter.builder("employee.bulkhead.rejections", bulkhead, Bulkhead::getTimeoutRejections)
+                    .tag("class", bulkhead.getName())
+                    .tag("reason", "timeout")
+                    .description("Requests of the class rejected with a 503 by the bulkhead")
+                    .register(registry);
+        }
+    }
+
+    List<Bulkhead> bulkheads() {
+        return Arrays.asList(writes, byIdReads, reads);
+    }
+
+    private Bulkhead bulkheadFor(RequestClass requestClass) {
+        switch (requestClass) {
+            case WRITES:
+                return writes;
+            case BY_ID_READS:
+                return byIdReads;
+            default:
+                return reads;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.employeeservice.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limit on the requests in flight that adapts to their latency, after the gradient algorithm of Netflix's
+ * concurrency-limits.
+ * <p>
+ * Two moving averages of the latency are kept: a short one that follows the current latency and a long one that
+ * stands for the latency without queueing. While the short average stays within a tolerance of the long one, the
+ * limit grows by about its square root. Once requests start to queue and the short average rises, the limit is
+ * scaled down by long / short, to at most half of it at once.
+ * <p>
+ * A request released while less than half of the limit was in use says nothing about the limit and leaves it as
+ * it is.
+ */
+public class ConcurrencyLimit {
+
+    // about the last 10 requests
+    private static final double SHORT_SMOOTHING = 0.1;
+
+    // about the last 500 requests
+    private static final double LONG_SMOOTHING = 0.002;
+
+    private static final double TOLERANCE = 1.5;
+
+    private static final double LIMIT_SMOOTHING = 0.2;
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private volatile double limit;
+
+    private double shortLatency;
+
+    private double longLatency;
+
+    public ConcurrencyLimit(String name, int initialLimit, int minLimit, int maxLimit) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a permit when fewer requests than the limit are in flight, counts a rejection otherwise.
+     */
+    public boolean tryAcquire() {
+
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permit taken by tryAcquire, the latency of the request adjusts the limit.
+     */
+    public void release(long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        adjust(latencyNanos, inFlightBefore);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejections() {
+        return rejections.sum();
+    }
+
+    private synchronized void adjust(long latencyNanos, int inFlightBefore) {
+
+        if (longLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+            return;
+        }
+        shortLatency += (latencyNanos - shortLatency) * SHORT_SMOOTHING;
+        longLatency += (shortLatency - longLatency) * LONG_SMOOTHING;
+        // after a spike the long average would hold the limit down for hundreds of requests
+        if (longLatency > 2 * shortLatency) {
+            longLatency *= 0.95;
+        }
+        if (inFlightBefore < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        newLimit = limit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    }
+}
@@ -0,0 +1,59 @@
+package com.employeeservice.admission;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+
+import static com.employeeservice.constants.EmployeeConstants.EMPLOYEE_BY_ID_PATH_PARAM_V1;
+import static com.employeeservice.constants.EmployeeConstants.EMPLOYEE_CHANGES_V1;
+import static com.employeeservice.constants.EmployeeConstants.EXPORT_EMPLOYEES_CSV_V1;
+import static com.employeeservice.constants.EmployeeConstants.IMPORT_EMPLOYEES_V1;
+
+/**
+ * The classes the requests to the EmployeeController are limited by: the writes, the reads of a single Employee
+ * by id and the other reads, which list or search the Employees.
+ */
+enum RequestClass {
+
+    WRITES("writes"),
+    BY_ID_READS("by-id-reads"),
+    READS("reads");
+
+    private static final String API_PREFIX = "/v1/";
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+
+    private final String name;
+
+    RequestClass(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns null for the requests that aren't limited: the change feed holds its connection open and the CSV
+     * export and the import last as long as the client takes to read or send the body, and neither the actuator
+     * nor Swagger are limited.
+     */
+    static RequestClass of(HttpServletRequest request) {
+
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        if (!path.startsWith(API_PREFIX) || path.equals(EMPLOYEE_CHANGES_V1) || path.equals(EXPORT_EMPLOYEES_CSV_V1)
+                || path.equals(IMPORT_EMPLOYEES_V1)) {
+            return null;
+        }
+        String method = request.getMethod();
+        if (!HttpMethod.GET.matches(method) && !HttpMethod.HEAD.matches(method)) {
+            return WRITES;
+        }
+        return PATH_MATCHER.match(EMPLOYEE_BY_ID_PATH_PARAM_V1, path) ? BY_ID_READS : READS;
+    }
+}
@@ -0,0 +1,174 @@
+package com.employeeservice.cache;
+
+import com.employeeservice.entity.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Least recently used cache of the JSON of the Employees, so an Employee is serialized once per version
+ * instead of once per read.
+ * <p>
+ * The entries are keyed by the id and hold the version they were serialized from, a read of a newer version
+ * misses and replaces the entry. Writes done through the EmployeeService evict the entries right away.
+ */
+@Component
+public class EmployeeJsonCache implements MeterBinder {
+
+    private final Map<Long, VersionedJson> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    public EmployeeJsonCache(@Value("${employee.json-cache.max-entries:10000}") int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Long, VersionedJson>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, VersionedJson> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    /**
+     * Returns the cached JSON of the given version of the Employee, null when it isn't cached.
+     */
+    public byte[] get(Long id, long version) {
+
+        VersionedJson cached = entries.get(id);
+        if (cached != null && cached.version == version) {
+            hits.incrementAndGet();
+            return cached.json;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Returns the JSON of the Employee, serializing and caching it when the version isn't cached yet.
+     */
+    public byte[] json(Employee employee) {
+
+        byte[] json = get(employee.getId(), employee.getVersion());
+        return json == null ? put(employee) : json;
+    }
+
+    /**
+     * Serializes the Employee and caches its JSON, for callers that already missed the cache.
+     */
+    public byte[] put(Employee employee) {
+
+        byte[] json = serialize(employee);
+        entries.put(employee.getId(), new VersionedJson(employee.getVersion(), json));
+        return json;
+    }
+
+    /**
+     * Returns the JSON array of the Employees, concatenated from the JSON of each Employee.
+     */
+    public byte[] jsonArray(List<Employee> employees) {
+
+        ByteArrayOutputStream array = new ByteArrayOutputStream();
+        array.write('[');
+        for (int i = 0; i < employees.size(); i++) {
+            if (i > 0) {
+                array.write(',');
+            }
+            byte[] json = json(employees.get(i));
+            array.write(json, 0, json.length);
+        }
+        array.write(']');
+        return array.toByteArray();
+    }
+
+    public void evict(Long id) {
+        entries.remove(id);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Tells whether JSON is the preferred media type of the Accept header, the cache only holds JSON.
+     */
+    public static boolean servesJson(String accept) {
+
+        if (!StringUtils.hasText(accept)) {
+            return true;
+        }
+        try {
+            List<MediaType> accepted = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(accepted);
+            return !accepted.isEmpty() && accepted.get(0).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("employee.json.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Reads of the Employee JSON answered from the cache")
+                .register(registry);
+        FunctionCounter.builder("employee.json.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Reads of the Employee JSON that had to serialize the Employee")
+                .register(registry);
+        Gauge.builder("employee.json.cache.size", entries, Map::size)
+                .description("Employees with cached JSON")
+                .register(registry);
+    }
+
+    private byte[] serialize(Employee employee) {
+        try {
+            return objectMapper.writeValueAsBytes(employee);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The JSON of an Employee with the version it was serialized from.
+     */
+    public static class VersionedJson {
+
+        private final long version;
+
+        private final byte[] json;
+
+        public VersionedJson(long version, byte[] json) {
+            this.version = version;
+            this.json = json;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+    }
+}
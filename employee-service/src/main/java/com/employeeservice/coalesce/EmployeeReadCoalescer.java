@@ -0,0 +1,78 @@
+package com.employeeservice.coalesce;
+
+import com.employeeservice.cache.EmployeeJsonCache.VersionedJson;
+import com.employeeservice.entity.Employee;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces the identical reads of the EmployeeService that run at the same time, so a burst of requests for
+ * the same Employee or the same name costs one repository call instead of one per request.
+ * <p>
+ * The reads by id are keyed by the id, a write forgets the flights of the Employee it wrote. The name searches
+ * are keyed by the name, any write can change their result and forgets all of them.
+ */
+@Component
+public class EmployeeReadCoalescer implements MeterBinder {
+
+    private final SingleFlight<Long, Optional<Employee>> byId = new SingleFlight<>();
+
+    private final SingleFlight<Long, Optional<Long>> versionById = new SingleFlight<>();
+
+    private final SingleFlight<Long, Optional<VersionedJson>> jsonById = new SingleFlight<>();
+
+    private final SingleFlight<String, List<Employee>> byName = new SingleFlight<>();
+
+    public Optional<Employee> byId(Long id, Supplier<Optional<Employee>> read) {
+        return byId.execute(id, read);
+    }
+
+    public Optional<Long> versionById(Long id, Supplier<Optional<Long>> read) {
+        return versionById.execute(id, read);
+    }
+
+    public Optional<VersionedJson> jsonById(Long id, Supplier<Optional<VersionedJson>> read) {
+        return jsonById.execute(id, read);
+    }
+
+    public List<Employee> byName(String name, Supplier<List<Employee>> read) {
+        return byName.execute(name, read);
+    }
+
+    /**
+     * Called once the write of the Employee is committed.
+     */
+    public void written(Long id) {
+        byId.forget(id);
+        versionById.forget(id);
+        jsonById.forget(id);
+        byName.forgetAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "by-id", byId);
+        bind(registry, "version-by-id", versionById);
+        bind(registry, "json-by-id", jsonById);
+        bind(registry, "by-name", byName);
+    }
+
+    private static void bind(MeterRegistry registry, String read, SingleFlight<?, ?> flight) {
+        FunctionCounter.builder("employee.read.calls", flight, SingleFlight::getExecuted)
+                .tag("read", read)
+                .tag("result", "executed")
+                .description("Reads that called the repository")
+                .register(registry);
+        FunctionCounter.builder("employee.read.calls", flight, SingleFlight::getCoalesced)
+                .tag("read", read)
+                .tag("result", "coalesced")
+                .description("Reads that shared the repository call of an identical read in flight")
+                .register(registry);
+    }
+}
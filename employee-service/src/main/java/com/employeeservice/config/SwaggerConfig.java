@@ -3,6 +3,7 @@ package com.employeeservice.config;
 import springfox.documentation.service.Contact;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.service.ApiInfo;
 import springfox.documentation.service.StringVendorExtension;
@@ -13,6 +14,7 @@ import springfox.documentation.swagger2.annotations.EnableSwagger2;
 import java.util.Arrays;
 
 @Configuration
+@Profile("!reactive & !fast-start")
 @EnableSwagger2
 public class SwaggerConfig {
 
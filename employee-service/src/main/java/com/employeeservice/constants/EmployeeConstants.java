@@ -2,11 +2,33 @@ package com.employeeservice.constants;
 
 public class EmployeeConstants {
     public static final String GET_ALL_MOVIES_V1 = "/v1/allEmployees";
+    public static final String GET_EMPLOYEES_V1 = "/v1/employees";
     public static final String EMPLOYEE_BY_ID_PATH_PARAM_V1 = "/v1/employee/{id}";
     public static final String EMPLOYEE_BY_NAME_QUERY_PARAM_V1 ="/v1/employeeName" ;
     public static final String ADD_EMPLOYEE_V1 = "/v1/employee";
+    public static final String ADD_EMPLOYEES_BULK_V1 = "/v1/employees/bulk";
+    public static final String IMPORT_EMPLOYEES_V1 = "/v1/employees/import";
+    public static final String EMPLOYEE_STATS_V1 = "/v1/employees/stats";
+    public static final String EMPLOYEE_CHANGES_V1 = "/v1/employees/changes";
+    public static final String EXPORT_EMPLOYEES_CSV_V1 = "/v1/employees/export.csv";
     public static final String ERROR_ENDPOINT = "/v1/employee/error";
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String APPLICATION_CBOR_VALUE = "application/cbor";
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final String ROW_COUNT_TRAILER = "X-Row-Count";
+    public static final String NOT_FOUND_ID_MESSAGE = "No Employee Available with the given Id - ";
+    public static final String NOT_FOUND_NAME_MESSAGE = "No Employee Available with the given name - ";
+    public static final String SERVER_ERROR_MESSAGE = "RunTimeException from Employee Service";
     public static final String ERROR_MESSAGE = "Please pass all the input fields : ";
+    public static final String NO_FIELDS_TO_PATCH_MESSAGE = "Please pass at least one of the fields : [age, firstName, gender, lastName, role]";
+    public static final String BULK_SIZE_EXCEEDED_MESSAGE = "Too many Employees in a single request, the maximum is ";
+    public static final String INVALID_JSON_MESSAGE = "The line is not a valid Employee JSON : ";
+    public static final String IMPORT_CHUNK_FAILED_MESSAGE = "The chunk of the line failed to commit, none of its Employees were added. First line of the chunk - ";
+    public static final String INVALID_FIELDS_MESSAGE = "Please pass only the fields : [age, firstName, gender, id, lastName, role]";
+    public static final String INVALID_CURSOR_MESSAGE = "Invalid cursor - ";
+    public static final String OVERLOADED_MESSAGE = "Too many requests in flight, please retry later. Request class - ";
+    public static final String CHANGES_EXPIRED_MESSAGE = "The changes after the given sequence are no longer retained, please reload the Employees. Oldest retained sequence - ";
 
     public static final String DELETE_MESSAGE = "Employee deleted successfully.";
 }
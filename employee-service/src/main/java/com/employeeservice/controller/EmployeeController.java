@@ -1,78 +1,264 @@
 package com.employeeservice.controller;
 
+import com.employeeservice.cache.EmployeeJsonCache;
+import com.employeeservice.cache.EmployeeJsonCache.VersionedJson;
 import com.employeeservice.constants.EmployeeConstants;
+import com.employeeservice.dto.BulkEmployeeResponse;
+import com.employeeservice.dto.EmployeeChange;
+import com.employeeservice.dto.EmployeeImportResponse;
+import com.employeeservice.dto.EmployeePage;
+import com.employeeservice.dto.EmployeeStats;
 import com.employeeservice.entity.Employee;
+import com.employeeservice.exception.EmployeeErrorException;
+import com.employeeservice.logging.SampledRequestLogger;
 import com.employeeservice.repository.EmployeeRepository;
+import com.employeeservice.service.EmployeeImportService;
+import com.employeeservice.service.EmployeeService;
+import com.employeeservice.stream.EmployeeStreamWriter;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
-import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static com.employeeservice.constants.EmployeeConstants.*;
 
 @RestController
+@Profile("!reactive")
 @Slf4j
 public class EmployeeController {
 
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeImportService employeeImportService;
+
     @Autowired
     EmployeeRepository employeeRepository;
 
-    Function<Long,ResponseStatusException > notFoundId = (id) -> {
-        return new ResponseStatusException(HttpStatus.NOT_FOUND, "No Employee Available with the given Id - "+ id);
-    };
+    @Autowired
+    EmployeeStreamWriter employeeStreamWriter;
+
+    @Autowired
+    SampledRequestLogger requestLogger;
+
+    @Autowired
+    EmployeeJsonCache employeeJsonCache;
 
-    Function<String,ResponseStatusException > notFoundName = (name) -> {
-        throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No Employee Available with the given name - "+ name);
+    Function<Long, EmployeeErrorException> notFoundId = (id) -> {
+        return new EmployeeErrorException(HttpStatus.NOT_FOUND, NOT_FOUND_ID_MESSAGE, String.valueOf(id));
     };
 
-    Supplier<ResponseStatusException > serverError = () -> {
-        throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "RunTimeException from Employee Service");
+    Function<String, EmployeeErrorException> notFoundName = (name) -> {
+        return new EmployeeErrorException(HttpStatus.NOT_FOUND, NOT_FOUND_NAME_MESSAGE, name);
     };
 
+    // stackless and immutable, so a single instance serves every request
+    private static final EmployeeErrorException SERVER_ERROR = new EmployeeErrorException(HttpStatus.INTERNAL_SERVER_ERROR, SERVER_ERROR_MESSAGE, null);
+
+    Supplier<EmployeeErrorException> serverError = () -> SERVER_ERROR;
+
 
     @GetMapping(GET_ALL_MOVIES_V1)
     @ApiOperation("Retrieves all the Employees")
     @ApiResponses(
             value = {
-                    @ApiResponse(code = 200, message = "SuccessFul Retrieval of Employees")
+                    @ApiResponse(code = 200, message = "SuccessFul Retrieval of Employees"),
+                    @ApiResponse(code = 304, message = "No Employee changed since the ETag that's passed."),
+                    @ApiResponse(code = 400, message = "A field that's passed is not an Employee field.")
             }
     )
-    public List<Employee> allEmployees() {
-        List<Employee> employees = new ArrayList<>();
+    public ResponseEntity<?> allEmployees(@RequestParam(value = "fields", required = false) String fields, WebRequest webRequest) {
+        List<String> fieldList = employeeService.parseFields(fields);
+        if (webRequest.checkNotModified(employeeService.collectionETag())) {
+            return null;
+        }
         log.info("Recieved request for  retrieving all Employees");
-        employeeRepository.findAll()
-                .forEach(employees::add);
-        return employees;
+        if (fieldList != null) {
+            return ResponseEntity.ok(employeeService.findAll(fieldList));
+        }
+        if (EmployeeJsonCache.servesJson(webRequest.getHeader(HttpHeaders.ACCEPT))) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON_UTF8)
+                    .body(employeeJsonCache.jsonArray(employeeService.findAll()));
+        }
+        return ResponseEntity.ok(employeeService.findAll());
+    }
+
+    @GetMapping(value = GET_ALL_MOVIES_V1, produces = {MediaType.APPLICATION_STREAM_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Transactional(readOnly = true)
+    @ApiOperation("Streams all the Employees as newline delimited JSON")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 200, message = "SuccessFul Retrieval of Employees")
+            }
+    )
+    public void streamAllEmployees(@RequestHeader(HttpHeaders.ACCEPT) String accept, HttpServletResponse response) throws IOException {
+
+        log.info("Recieved request for streaming all Employees");
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            response.setContentType(streamingContentType(accept));
+            long count = employeeStreamWriter.writeNdjson(employees.iterator(), response.getOutputStream());
+            log.info("Streamed {} Employees", count);
+        }
+    }
+
+    @GetMapping(value = EXPORT_EMPLOYEES_CSV_V1, produces = TEXT_CSV_VALUE)
+    @Transactional(readOnly = true)
+    @ApiOperation("Exports all the Employees as CSV, streamed while they are read.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 200, message = "Streams a header line and one row per Employee, the number of rows follows in the X-Row-Count trailer.")
+            }
+    )
+    public void exportEmployeesCsv(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        log.info("Recieved request for exporting all Employees as CSV");
+        AtomicLong rows = new AtomicLong();
+        response.setContentType(TEXT_CSV_VALUE + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"");
+        // the count is only known at the end, it's sent as a trailer where the protocol has them
+        if (!"HTTP/1.0".equals(request.getProtocol())) {
+            response.setHeader("Trailer", ROW_COUNT_TRAILER);
+            response.setTrailerFields(() -> Collections.singletonMap(ROW_COUNT_TRAILER, String.valueOf(rows.get())));
+        }
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            rows.set(employeeStreamWriter.writeCsv(employees.iterator(), response.getOutputStream()));
+            log.info("Exported {} Employees", rows.get());
+        }
+    }
+
+    @GetMapping(GET_EMPLOYEES_V1)
+    @ApiOperation("Retrieves the Employees one page at a time, ordered by id.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 200, message = "Returns the page of Employees after the cursor and the cursor for the next page."),
+                    @ApiResponse(code = 304, message = "No Employee changed since the ETag that's passed."),
+                    @ApiResponse(code = 400, message = "The cursor that's passed is not valid.")
+            }
+    )
+    public EmployeePage employeesPage(@RequestParam(value = "cursor", required = false) String cursor,
+                                      @RequestParam(value = "size", required = false) Integer size,
+                                      WebRequest webRequest) {
+
+        if (webRequest.checkNotModified(employeeService.collectionETag())) {
+            return null;
+        }
+        return employeeService.findPage(cursor, size);
+    }
+
+    @GetMapping(EMPLOYEE_STATS_V1)
+    @ApiOperation("Retrieves the headcount per role and gender and the age statistics of the Employees.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 200, message = "Returns the statistics of all the Employees."),
+                    @ApiResponse(code = 304, message = "No Employee changed since the ETag that's passed.")
+            }
+    )
+    public EmployeeStats employeeStats(WebRequest webRequest) {
+
+        if (webRequest.checkNotModified(employeeService.collectionETag())) {
+            return null;
+        }
+        return employeeService.stats();
+    }
+
+    @GetMapping(value = EMPLOYEE_CHANGES_V1, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation("Streams the creates, updates, patches and deletes of the Employees as server sent events.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 200, message = "Streams the changes after the sequence that's passed, or a HEAD event followed by the live changes."),
+                    @ApiResponse(code = 410, message = "The changes after the sequence that's passed are no longer retained.")
+            }
+    )
+    public ResponseEntity<SseEmitter> employeeChanges(@RequestParam(value = "since", required = false) Long since,
+                                                      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        Long from = since != null ? since : lastEventId;
+        log.info("Received the request to stream the Employee changes after the sequence - {} .", from);
+        // an error body can't be written as an event stream, the 410 goes without one
+        if (!employeeService.changesRetained(from)) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
+        // the feed streams for as long as the consumer stays connected, this response is the only one without a timeout
+        SseEmitter emitter = new SseEmitter(-1L);
+        Disposable subscription = employeeService.changes(from)
+                .subscribe(event -> send(emitter, event), emitter::completeWithError, emitter::complete);
+        emitter.onCompletion(subscription::dispose);
+        emitter.onError(error -> subscription.dispose());
+        return ResponseEntity.ok(emitter);
     }
 
     @ApiOperation("Retrieve an Employee using the Employee id.")
     @ApiResponses(
             value = {
                     @ApiResponse(code = 200, message = "Returns the Employee for the id."),
+                    @ApiResponse(code = 304, message = "The Employee did not change since the ETag that's passed."),
+                    @ApiResponse(code = 400, message = "A field that's passed is not an Employee field."),
                     @ApiResponse(code = 404, message = "No Employee found for the id that's passed."),
             }
     )
     @GetMapping(EMPLOYEE_BY_ID_PATH_PARAM_V1)
-    public ResponseEntity<?> employeeById(@PathVariable Long id) {
-
-        Optional<Employee> employeeOptional = employeeRepository.findById(id);
+    public ResponseEntity<?> employeeById(@PathVariable Long id,
+                                          @RequestParam(value = "fields", required = false) String fields,
+                                          WebRequest webRequest) {
+
+        List<String> fieldList = employeeService.parseFields(fields);
+        boolean cachedJson = fieldList == null && EmployeeJsonCache.servesJson(webRequest.getHeader(HttpHeaders.ACCEPT));
+        // only the version is read for a conditional request or a cached body, the Employee itself is loaded when it changed
+        if (cachedJson || webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = employeeService.findVersionById(id);
+            if (version.isPresent() && webRequest.checkNotModified(employeeService.employeeETag(id, version.get()))) {
+                return null;
+            }
+            if (cachedJson) {
+                VersionedJson json = version.flatMap(currentVersion -> employeeService.findJsonById(id, currentVersion))
+                        .orElseThrow(() -> notFoundId.apply(id));
+                return ResponseEntity.status(HttpStatus.OK)
+                        .eTag(employeeService.employeeETag(id, json.getVersion()))
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .body(json.getJson());
+            }
+        }
+        if (fieldList != null) {
+            Map<String, Object> employee = employeeService.findById(id, fieldList)
+                    .orElseThrow(() -> notFoundId.apply(id));
+            return ResponseEntity.status(HttpStatus.OK).body(employee);
+        }
+        Optional<Employee> employeeOptional = employeeService.findById(id);
         if (employeeOptional.isPresent()) {
-            log.info("Response is {}.", employeeOptional.get());
-            return ResponseEntity.status(HttpStatus.OK).body(employeeOptional.get());
+            requestLogger.payload(log, "Response is {}.", employeeOptional.get());
+            return ResponseEntity.status(HttpStatus.OK)
+                    .eTag(employeeService.employeeETag(id, employeeOptional.get().getVersion()))
+                    .body(employeeOptional.get());
 
         } else {
             log.info("No Employee available with the given Employee Id - {}", id);
@@ -89,25 +275,63 @@ public class EmployeeController {
     @ApiResponses(
             value = {
                     @ApiResponse(code = 200, message = "Returns the Employees using the FirstName or LastName of the employee."),
+                    @ApiResponse(code = 400, message = "A field that's passed is not an Employee field."),
                     @ApiResponse(code = 404, message = "No Employee found for the name thats passed."),
             }
     )
     @GetMapping(EMPLOYEE_BY_NAME_QUERY_PARAM_V1)
-    public ResponseEntity<?> movieByName(@RequestParam("employee_name") String name) {
+    public ResponseEntity<?> movieByName(@RequestParam("employee_name") String name,
+                                         @RequestParam(value = "fields", required = false) String fields,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
 
         log.info("Received the request to search by Employee name - {} .", name);
 
-        List<Employee> employees = employeeRepository.findByEmployeeName(name);
+        List<String> fieldList = employeeService.parseFields(fields);
+        List<Employee> fullEmployees = fieldList == null ? employeeService.searchByName(name) : null;
+        List<?> employees = fieldList == null ? fullEmployees : employeeService.searchByName(name, fieldList);
         if (CollectionUtils.isEmpty(employees)) {
             log.info("No Employee available for the given Employee name - {}.", name);
             throw notFoundName.apply(name);
         } else {
-            log.info("Response is : {}", employees);
+            log.info("Found {} Employees for the given Employee name - {}.", employees.size(), name);
+            if (fullEmployees != null && EmployeeJsonCache.servesJson(accept)) {
+                return ResponseEntity.status(HttpStatus.OK)
+                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                        .body(employeeJsonCache.jsonArray(fullEmployees));
+            }
             return ResponseEntity.status(HttpStatus.OK).body(employees);
 
         }
     }
 
+    @GetMapping(value = EMPLOYEE_BY_NAME_QUERY_PARAM_V1, produces = {MediaType.APPLICATION_STREAM_JSON_VALUE, APPLICATION_NDJSON_VALUE})
+    @Transactional(readOnly = true)
+    @ApiOperation("Streams the Employees using the employee name passed as part of the request as newline delimited JSON.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 200, message = "Returns the Employees using the FirstName or LastName of the employee."),
+                    @ApiResponse(code = 404, message = "No Employee found for the name thats passed."),
+            }
+    )
+    public void streamEmployeesByName(@RequestParam("employee_name") String name,
+                                      @RequestHeader(HttpHeaders.ACCEPT) String accept,
+                                      HttpServletResponse response) throws IOException {
+
+        log.info("Received the request to stream by Employee name - {} .", name);
+
+        try (Stream<Employee> employees = employeeRepository.streamByEmployeeName(name)) {
+            Iterator<Employee> iterator = employees.iterator();
+            // nothing is written yet, so a miss can still be answered with a 404
+            if (!iterator.hasNext()) {
+                log.info("No Employee available for the given Employee name - {}.", name);
+                throw notFoundName.apply(name);
+            }
+            response.setContentType(streamingContentType(accept));
+            long count = employeeStreamWriter.writeNdjson(iterator, response.getOutputStream());
+            log.info("Streamed {} Employees for the given Employee name - {}.", count, name);
+        }
+    }
+
     @ApiOperation("Adds a new Employee.")
     @ApiResponses(
             value = {
@@ -117,13 +341,47 @@ public class EmployeeController {
     @PostMapping(ADD_EMPLOYEE_V1)
     public ResponseEntity<?> createMovie(@Valid @RequestBody Employee employee) {
 
-        log.info("Received the request to add a new Employee in the service {} ", employee);
-        Employee addedEmployee = employeeRepository.save(employee);
-        log.info("Employee SuccessFully added to the DB. New Employee Details are {} .", employee);
+        log.info("Received the request to add a new Employee in the service");
+        requestLogger.payload(log, "New Employee Details are {} .", employee);
+        Employee addedEmployee = employeeService.create(employee);
+        log.info("Employee SuccessFully added to the DB. New Employee Id is {} .", addedEmployee.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(addedEmployee);
 
     }
 
+    @ApiOperation("Adds a list of new Employees in a single request.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 201, message = "All the Employees are successfully added to the InMemory DB."),
+                    @ApiResponse(code = 207, message = "Some of the Employees are rejected, the results show which ones and why."),
+                    @ApiResponse(code = 400, message = "Too many Employees in a single request.")
+            }
+    )
+    @PostMapping(ADD_EMPLOYEES_BULK_V1)
+    public ResponseEntity<BulkEmployeeResponse> createEmployees(@RequestBody List<Employee> employees) {
+
+        log.info("Received the request to add {} new Employees in the service", employees.size());
+        BulkEmployeeResponse response = employeeService.createAll(employees);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    @ApiOperation("Imports Employees from newline delimited JSON, one Employee per line, committed in chunks.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 201, message = "All the lines are successfully added to the InMemory DB."),
+                    @ApiResponse(code = 207, message = "Some of the lines are rejected, the errors show which ones and why.")
+            }
+    )
+    @PostMapping(value = IMPORT_EMPLOYEES_V1, consumes = {APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_STREAM_JSON_VALUE})
+    public ResponseEntity<EmployeeImportResponse> importEmployees(HttpServletRequest request) throws IOException {
+
+        log.info("Received the request to import Employees in the service");
+        EmployeeImportResponse response = employeeImportService.importNdjson(request.getInputStream());
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
     @ApiOperation("Updates the Employee details.")
     @ApiResponses(
             value = {
@@ -133,14 +391,15 @@ public class EmployeeController {
     )
     @PutMapping(EMPLOYEE_BY_ID_PATH_PARAM_V1)
     public ResponseEntity<?> updateEmployee(@PathVariable Long id, @RequestBody Employee updateEmployee) {
-        log.info("Received the request to update the employee. Employee Id is {} and the updated Employee Details are {} ", id, updateEmployee);
+        log.info("Received the request to update the employee. Employee Id is {}", id);
+        requestLogger.payload(log, "The updated Employee Details are {} ", updateEmployee);
 
-        Optional<Employee> employeeOptional = employeeRepository.findById(id);
+        Optional<Employee> employeeOptional = employeeService.update(id, updateEmployee);
         if (employeeOptional.isPresent()) {
-            Employee employeeToUpdate = employeeOptional.get();
-            createEmployeeEntity(employeeToUpdate, updateEmployee);
-            employeeRepository.save(employeeToUpdate);
-            return ResponseEntity.status(HttpStatus.OK).body(employeeToUpdate);
+            Employee updatedEmployee = employeeOptional.get();
+            return ResponseEntity.status(HttpStatus.OK)
+                    .eTag(employeeService.employeeETag(id, updatedEmployee.getVersion()))
+                    .body(updatedEmployee);
 
         } else {
             log.info("No Employee available for the given Movie Id - {}.", id);
@@ -151,22 +410,24 @@ public class EmployeeController {
 
     }
 
-    public void createEmployeeEntity(Employee employeeToUpdate, Employee updateEmployee) {
-        if (checkEmptyNullString(updateEmployee.getFirstName()) && !updateEmployee.getFirstName().equals(employeeToUpdate.getFirstName())) {
-            employeeToUpdate.setFirstName(updateEmployee.getFirstName());
-        }
-        if (checkEmptyNullString(updateEmployee.getLastName()) && !updateEmployee.getLastName().equals(employeeToUpdate.getLastName())) {
-            employeeToUpdate.setLastName(updateEmployee.getLastName());
-        }
-        if(updateEmployee!=null && updateEmployee.getAge()!=employeeToUpdate.getAge()){
-            employeeToUpdate.setAge(updateEmployee.getAge());
-        }
-        if (checkEmptyNullString(updateEmployee.getGender()) && !updateEmployee.getGender().equals(employeeToUpdate.getGender())) {
-            employeeToUpdate.setGender(updateEmployee.getGender());
-        }
-        if (checkEmptyNullString(updateEmployee.getRole()) && !updateEmployee.getRole().equals(employeeToUpdate.getRole())) {
-            employeeToUpdate.setRole(updateEmployee.getRole());
+    @ApiOperation("Updates only the Employee details that are passed.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(code = 204, message = "Employee details are successfully updated to the DB."),
+                    @ApiResponse(code = 400, message = "None of the Employee details are passed."),
+                    @ApiResponse(code = 404, message = "No Employee found for the id that's passed."),
+            }
+    )
+    @PatchMapping(EMPLOYEE_BY_ID_PATH_PARAM_V1)
+    public ResponseEntity<?> patchEmployee(@PathVariable Long id, @RequestBody Employee patchEmployee) {
+        log.info("Received the request to patch the employee. Employee Id is {}", id);
+        requestLogger.payload(log, "The patched Employee Details are {} ", patchEmployee);
+
+        if (!employeeService.patch(id, patchEmployee)) {
+            log.info("No Employee available for the given Employee Id - {}.", id);
+            throw notFoundId.apply(id);
         }
+        return ResponseEntity.noContent().build();
     }
 
     @ApiOperation("Removes the Employee details.")
@@ -180,9 +441,7 @@ public class EmployeeController {
     public ResponseEntity<?> deleteMovie(@PathVariable Long id) {
 
         log.info("Received the request to delete a Employee and the id is {} .", id);
-        Optional<Employee> movieToUpdateOptional = employeeRepository.findById(id);
-        if (movieToUpdateOptional.isPresent()) {
-            employeeRepository.deleteById(id);
+        if (employeeService.delete(id)) {
             log.info("Employee Successfully deleted from the DB");
             return ResponseEntity.status(HttpStatus.OK).body(EmployeeConstants.DELETE_MESSAGE);
         } else {
@@ -199,8 +458,31 @@ public class EmployeeController {
             throw serverError.get();
     }
 
-    private boolean checkEmptyNullString(String input) {
-        return !StringUtils.isEmpty(input) && !StringUtils.isEmpty(input.trim());
+    private static void send(SseEmitter emitter, ServerSentEvent<EmployeeChange> event) {
+
+        SseEmitter.SseEventBuilder builder = SseEmitter.event();
+        if (event.id() != null) {
+            builder.id(event.id());
+        }
+        if (event.event() != null) {
+            builder.name(event.event());
+        }
+        if (event.comment() != null) {
+            builder.comment(event.comment());
+        }
+        if (event.data() != null) {
+            builder.data(event.data(), MediaType.APPLICATION_JSON);
+        }
+        try {
+            emitter.send(builder);
+        } catch (IOException e) {
+            // the consumer is gone, the subscription is cancelled
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String streamingContentType(String accept) {
+        return accept.contains(APPLICATION_NDJSON_VALUE) ? APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_STREAM_JSON_VALUE;
     }
 
 }
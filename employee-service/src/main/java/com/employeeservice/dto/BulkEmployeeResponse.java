@@ -0,0 +1,24 @@
+package com.employeeservice.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class BulkEmployeeResponse {
+
+    @ApiModelProperty("Represents the number of Employees added to the DB.")
+    private int created;
+
+    @ApiModelProperty("Represents the number of Employees rejected by the validation.")
+    private int failed;
+
+    @ApiModelProperty("Represents the outcome for every Employee in the order of the request.")
+    private List<BulkEmployeeResult> results;
+
+}
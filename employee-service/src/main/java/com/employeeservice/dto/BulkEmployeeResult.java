@@ -0,0 +1,22 @@
+package com.employeeservice.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class BulkEmployeeResult {
+
+    @ApiModelProperty("Represents the position of the Employee in the request.")
+    private int index;
+
+    @ApiModelProperty("Represents the ID assigned to the Employee. Null when the Employee was rejected.")
+    private Long id;
+
+    @ApiModelProperty("Represents the reason the Employee was rejected. Null when the Employee was added.")
+    private String error;
+
+}
@@ -0,0 +1,30 @@
+package com.employeeservice.dto;
+
+import com.employeeservice.entity.Employee;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EmployeeChange {
+
+    public enum Type {
+        HEAD, CREATED, UPDATED, PATCHED, DELETED
+    }
+
+    @ApiModelProperty("Represents the position of the change in the feed, increases by one with every change.")
+    private long sequence;
+
+    @ApiModelProperty("Represents the kind of change. HEAD is the first event of a feed that's not resumed and carries the current sequence only.")
+    private Type type;
+
+    @ApiModelProperty("Represents the ID of the changed Employee.")
+    private Long id;
+
+    @ApiModelProperty("Represents the Employee after the change. Only the patched fields for PATCHED, null for DELETED and HEAD.")
+    private Employee employee;
+
+}
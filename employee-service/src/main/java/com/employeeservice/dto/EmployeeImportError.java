@@ -0,0 +1,19 @@
+package com.employeeservice.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EmployeeImportError {
+
+    @ApiModelProperty("Represents the line of the request body, starting at 1.")
+    private long line;
+
+    @ApiModelProperty("Represents the reason the Employee on the line was rejected.")
+    private String error;
+
+}
@@ -0,0 +1,30 @@
+package com.employeeservice.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EmployeeImportResponse {
+
+    @ApiModelProperty("Represents the number of Employees added to the DB.")
+    private long created;
+
+    @ApiModelProperty("Represents the number of lines rejected because they aren't a valid Employee or their chunk failed.")
+    private long failed;
+
+    @ApiModelProperty("Represents the number of chunks committed to the DB.")
+    private int chunks;
+
+    @ApiModelProperty("Represents the rejected lines, up to employee.import.max-errors of them.")
+    private List<EmployeeImportError> errors;
+
+    @ApiModelProperty("Represents the number of rejected lines left out of the errors.")
+    private long errorsOmitted;
+
+}
@@ -0,0 +1,22 @@
+package com.employeeservice.dto;
+
+import com.employeeservice.entity.Employee;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EmployeePage {
+
+    @ApiModelProperty("Represents the Employees of the current page ordered by id.")
+    private List<Employee> employees;
+
+    @ApiModelProperty("Represents the cursor to request the next page with. Null when this is the last page.")
+    private String nextCursor;
+
+}
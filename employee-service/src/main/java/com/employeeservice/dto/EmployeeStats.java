@@ -0,0 +1,36 @@
+package com.employeeservice.dto;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class EmployeeStats {
+
+    @ApiModelProperty("Represents the number of Employees.")
+    private long headcount;
+
+    @ApiModelProperty("Represents the number of Employees per role.")
+    private Map<String, Long> byRole;
+
+    @ApiModelProperty("Represents the number of Employees per gender.")
+    private Map<String, Long> byGender;
+
+    @ApiModelProperty("Represents the number of Employees per role and gender.")
+    private Map<String, Map<String, Long>> byRoleAndGender;
+
+    @ApiModelProperty("Represents the age of the youngest Employee. Null when no Employee has an age.")
+    private Integer minAge;
+
+    @ApiModelProperty("Represents the age of the oldest Employee. Null when no Employee has an age.")
+    private Integer maxAge;
+
+    @ApiModelProperty("Represents the average age of the Employees that have an age. Null when no Employee has an age.")
+    private Double averageAge;
+
+}
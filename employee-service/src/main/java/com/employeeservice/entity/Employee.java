@@ -1,5 +1,6 @@
 package com.employeeservice.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -8,7 +9,10 @@ import lombok.NoArgsConstructor;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Version;
 import javax.validation.constraints.NotBlank;
 
 @NoArgsConstructor
@@ -17,7 +21,8 @@ import javax.validation.constraints.NotBlank;
 @Entity
 public class Employee {
 
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     @Id
     @ApiModelProperty("Represents the ID which is unique to an Employee.")
     private Long id;
@@ -43,4 +48,17 @@ public class Employee {
     @ApiModelProperty("Represents the role of the Employee.")
     private String role;
 
+    @Version
+    @JsonIgnore
+    private long version;
+
+    public Employee(Long id, String firstName, String lastName, Integer age, String gender, String role) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.age = age;
+        this.gender = gender;
+        this.role = role;
+    }
+
 }
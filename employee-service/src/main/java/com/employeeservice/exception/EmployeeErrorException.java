@@ -0,0 +1,45 @@
+package com.employeeservice.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Cheap exception for the expected error responses of the service, rendered by the GlobalExceptionHandler.
+ * <p>
+ * It carries no stack trace and no suppressed exceptions, so creating one costs about as much as any other
+ * small object. The message is the constant prefix followed by the detail, e.g. the id that wasn't found,
+ * and is only concatenated when someone asks for it.
+ */
+public class EmployeeErrorException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+
+    private final String messagePrefix;
+
+    private final String detail;
+
+    public EmployeeErrorException(HttpStatus status, String messagePrefix, String detail) {
+        super(null, null, false, false);
+        this.status = status;
+        this.messagePrefix = messagePrefix;
+        this.detail = detail;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    public String getMessagePrefix() {
+        return messagePrefix;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    @Override
+    public String getMessage() {
+        return detail == null ? messagePrefix : messagePrefix + detail;
+    }
+}
@@ -0,0 +1,55 @@
+package com.employeeservice.exception;
+
+import com.fasterxml.jackson.core.util.BufferRecyclers;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders the JSON bodies of the error responses.
+ * <p>
+ * The part of the body up to the variable detail is encoded once per status and message prefix and reused,
+ * a request only encodes its detail. Errors without a detail get the cached body as it is.
+ */
+@Component
+public class ErrorBodies {
+
+    private static final byte[] SUFFIX = "\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, byte[]> prefixes = new ConcurrentHashMap<>();
+
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    public byte[] render(EmployeeErrorException ex) {
+
+        String key = ex.getStatus().value() + ex.getMessagePrefix();
+        if (ex.getDetail() == null) {
+            return bodies.computeIfAbsent(key, k -> concat(prefix(key, ex), SUFFIX));
+        }
+        byte[] detail = BufferRecyclers.getJsonStringEncoder().quoteAsUTF8(ex.getDetail());
+        return concat(prefix(key, ex), detail, SUFFIX);
+    }
+
+    private byte[] prefix(String key, EmployeeErrorException ex) {
+        return prefixes.computeIfAbsent(key, k -> ("{\"status\":" + ex.getStatus().value()
+                + ",\"error\":\"" + ex.getStatus().getReasonPhrase()
+                + "\",\"message\":\"" + new String(BufferRecyclers.getJsonStringEncoder().quoteAsString(ex.getMessagePrefix())))
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += part.length;
+        }
+        byte[] result = new byte[length];
+        int offset = 0;
+        for (byte[] part : parts) {
+            System.arraycopy(part, 0, result, offset, part.length);
+            offset += part.length;
+        }
+        return result;
+    }
+}
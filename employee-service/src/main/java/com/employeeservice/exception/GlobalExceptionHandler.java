@@ -2,7 +2,9 @@ package com.employeeservice.exception;
 
 import com.employeeservice.constants.EmployeeConstants;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -17,6 +19,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    @Autowired
+    ErrorBodies errorBodies;
+
+    @ExceptionHandler(value = EmployeeErrorException.class)
+    public ResponseEntity<byte[]> handleEmployeeErrorException(EmployeeErrorException ex) {
+
+        return ResponseEntity.status(ex.getStatus())
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(errorBodies.render(ex));
+    }
+
     @ExceptionHandler(value = MethodArgumentNotValidException.class)
     public ResponseEntity<String> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex) {
 
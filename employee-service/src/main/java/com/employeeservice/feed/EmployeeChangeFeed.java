@@ -0,0 +1,160 @@
+package com.employeeservice.feed;
+
+import com.employeeservice.dto.EmployeeChange;
+import com.employeeservice.entity.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static com.employeeservice.constants.EmployeeConstants.CHANGES_EXPIRED_MESSAGE;
+
+/**
+ * Feed of the writes done through the EmployeeService, so consumers can follow the Employees instead of polling them.
+ * <p>
+ * Every change gets the next sequence number. The last employee.feed.retained-changes changes are kept, so a
+ * consumer that lost its connection resumes after the last sequence it applied. A consumer that fell further
+ * behind gets a 410 and has to reload the Employees.
+ * <p>
+ * The changes are published after the write is committed, outside of any transaction. The EmployeeService
+ * publishes the changes of one Employee in the order they were committed, the changes of different Employees
+ * can get their sequences in another order than their commits.
+ */
+@Component
+@Slf4j
+public class EmployeeChangeFeed {
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final Deque<EmployeeChange> retained = new ArrayDeque<>();
+
+    private final List<FluxSink<EmployeeChange>> subscribers = new CopyOnWriteArrayList<>();
+
+    private final List<Consumer<EmployeeChange>> listeners = new CopyOnWriteArrayList<>();
+
+    private final int retainedChanges;
+
+    private long sequence;
+
+    public EmployeeChangeFeed(@Value("${employee.feed.retained-changes:10000}") int retainedChanges) {
+        this.retainedChanges = retainedChanges;
+    }
+
+    public void created(Employee employee) {
+        publish(EmployeeChange.Type.CREATED, employee.getId(), employee);
+    }
+
+    public void updated(Employee employee) {
+        publish(EmployeeChange.Type.UPDATED, employee.getId(), employee);
+    }
+
+    /**
+     * Publishes the patched fields only, the patch doesn't load the Employee.
+     */
+    public void patched(Long id, Employee patchedFields) {
+        publish(EmployeeChange.Type.PATCHED, id, patchedFields);
+    }
+
+    public void deleted(Long id) {
+        publish(EmployeeChange.Type.DELETED, id, null);
+    }
+
+    /**
+     * Registers an in process listener, called with every change in the order of the sequence, on the thread of
+     * the writer and under the lock of the feed. Listeners must be quick and must not throw.
+     */
+    public void listen(Consumer<EmployeeChange> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Streams the changes after the given sequence as server sent events, followed by the live changes.
+     * Without a sequence, the stream starts with a HEAD event carrying the current sequence.
+     */
+    public Flux<ServerSentEvent<EmployeeChange>> changes(Long since) {
+
+        // fails before the response is committed, the check is repeated when the stream subscribes
+        checkRetained(since);
+        Flux<ServerSentEvent<EmployeeChange>> changes = Flux.<EmployeeChange>create(sink -> subscribe(sink, since))
+                // a consumer that doesn't keep up is disconnected and resumes from its last sequence
+                .onBackpressureBuffer(retainedChanges)
+                // the writers publish, the events are written to the network on another thread
+                .publishOn(Schedulers.parallel())
+                .map(change -> ServerSentEvent.builder(change)
+                        .id(String.valueOf(change.getSequence()))
+                        .event(change.getType().name())
+                        .build());
+        Flux<ServerSentEvent<EmployeeChange>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<EmployeeChange>builder().comment("heartbeat").build());
+        return changes.mergeWith(heartbeats);
+    }
+
+    private synchronized void publish(EmployeeChange.Type type, Long id, Employee employee) {
+
+        EmployeeChange change = new EmployeeChange(++sequence, type, id, employee);
+        retained.addLast(change);
+        if (retained.size() > retainedChanges) {
+            retained.removeFirst();
+        }
+        listeners.forEach(listener -> listener.accept(change));
+        subscribers.forEach(subscriber -> subscriber.next(change));
+    }
+
+    /**
+     * Replays and registers under the same lock as publish, so no change is missed or sent twice.
+     */
+    private synchronized void subscribe(FluxSink<EmployeeChange> sink, Long since) {
+
+        try {
+            checkRetained(since);
+        } catch (ResponseStatusException e) {
+            sink.error(e);
+            return;
+        }
+        if (since == null) {
+            sink.next(new EmployeeChange(sequence, EmployeeChange.Type.HEAD, null, null));
+        } else {
+            retained.stream()
+                    .filter(change -> change.getSequence() > since)
+                    .forEach(sink::next);
+        }
+        subscribers.add(sink);
+        sink.onDispose(() -> subscribers.remove(sink));
+        log.debug("Change feed subscribed after sequence {}, {} subscribers.", since, subscribers.size());
+    }
+
+    /**
+     * Tells whether the changes after the given sequence can still be streamed, so the 410 can be answered
+     * before a response type is chosen.
+     */
+    public synchronized boolean isRetained(Long since) {
+
+        if (since == null || since == sequence) {
+            return true;
+        }
+        // a sequence ahead of the feed was handed out before the service restarted
+        return since <= sequence && since >= oldest() - 1;
+    }
+
+    private synchronized void checkRetained(Long since) {
+        if (!isRetained(since)) {
+            throw new ResponseStatusException(HttpStatus.GONE, CHANGES_EXPIRED_MESSAGE + oldest());
+        }
+    }
+
+    private long oldest() {
+        return retained.isEmpty() ? sequence + 1 : retained.getFirst().getSequence();
+    }
+}
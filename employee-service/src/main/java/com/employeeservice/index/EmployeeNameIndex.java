@@ -0,0 +1,154 @@
+package com.employeeservice.index;
+
+import com.employeeservice.entity.Employee;
+import com.employeeservice.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In memory trigram index over the first and last name of the Employees.
+ * <p>
+ * A substring search only has to look at the Employees that contain every trigram of the search term,
+ * instead of scanning the whole table with a leading wildcard like. The index returns candidates only,
+ * callers have to verify them against the actual names.
+ * <p>
+ * The index follows the writes done through the EmployeeController. It is built from the repository once
+ * the application is ready, writes that bypass the controller are only picked up by a {@link #rebuild()}.
+ */
+@Component
+@Slf4j
+public class EmployeeNameIndex {
+
+    private static final int GRAM = 3;
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    private final Map<Long, String[]> namesById = new ConcurrentHashMap<>();
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+
+        long start = System.currentTimeMillis();
+        postings.clear();
+        namesById.clear();
+        Long lastId = Long.MIN_VALUE;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            page.forEach(this::index);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        log.info("Employee name index built for {} Employees in {} ms.", namesById.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Adds the Employee to the index or replaces the names indexed for it before.
+     */
+    public void index(Employee employee) {
+        index(employee.getId(), employee.getFirstName(), employee.getLastName());
+    }
+
+    /**
+     * Replaces the given names of an Employee, a null name keeps the one indexed before.
+     */
+    public synchronized void index(Long id, String firstName, String lastName) {
+
+        String[] previous = namesById.get(id);
+        String[] names = new String[]{firstName, lastName};
+        if (previous != null) {
+            names[0] = firstName == null ? previous[0] : firstName;
+            names[1] = lastName == null ? previous[1] : lastName;
+        }
+        namesById.put(id, names);
+
+        Set<String> grams = trigrams(names);
+        if (previous != null) {
+            trigrams(previous).stream()
+                    .filter(gram -> !grams.contains(gram))
+                    .forEach(gram -> removePosting(gram, id));
+        }
+        grams.forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id));
+    }
+
+    public synchronized void remove(Long id) {
+
+        String[] previous = namesById.remove(id);
+        if (previous != null) {
+            trigrams(previous).forEach(gram -> removePosting(gram, id));
+        }
+    }
+
+    /**
+     * Like wildcards, the like escape character and terms shorter than a trigram can't be answered from the index.
+     */
+    public boolean supports(String term) {
+        return term != null && term.length() >= GRAM && term.indexOf('%') < 0 && term.indexOf('_') < 0
+                && term.indexOf('\\') < 0;
+    }
+
+    /**
+     * Returns the ids of the Employees whose first or last name might contain the term.
+     */
+    public Set<Long> candidates(String term) {
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : trigrams(term)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> candidates = new HashSet<>();
+        for (Long id : lists.get(0)) {
+            if (lists.stream().allMatch(ids -> ids.contains(id))) {
+                candidates.add(id);
+            }
+        }
+        return candidates;
+    }
+
+    private void removePosting(String gram, Long id) {
+        Set<Long> ids = postings.get(gram);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String... values) {
+        Set<String> grams = new HashSet<>();
+        for (String value : values) {
+            if (value != null) {
+                for (int i = 0; i + GRAM <= value.length(); i++) {
+                    grams.add(value.substring(i, i + GRAM));
+                }
+            }
+        }
+        return grams;
+    }
+}
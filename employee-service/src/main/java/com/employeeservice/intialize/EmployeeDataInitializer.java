@@ -2,9 +2,11 @@ package com.employeeservice.intialize;
 
 import com.employeeservice.entity.Employee;
 import com.employeeservice.repository.EmployeeRepository;
+import com.employeeservice.snapshot.EmployeeSnapshotStore;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
@@ -12,14 +14,23 @@ import java.util.List;
 
 @Slf4j
 @Component
+@Profile("!generate & !fast-start")
 public class EmployeeDataInitializer implements CommandLineRunner {
 
     @Autowired
     EmployeeRepository employeeRepository;
 
+    @Autowired(required = false)
+    EmployeeSnapshotStore employeeSnapshotStore;
+
     @Override
     public void run(String... args) throws Exception {
 
+        if (employeeSnapshotStore != null && employeeSnapshotStore.isRestored()) {
+            log.info("Employees restored from the snapshot, the initial data is skipped.");
+            return;
+        }
+
         Employee employee1 = new Employee(null, "Chris", "Evans", 50, "male", "Lead Engineer");
         Employee employee2 = new Employee(null, "Adam", "Sandler", 50, "male", "Senior Engineer");
         Employee employee3 = new Employee(null, "Jenny", "Richards", 32, "female", "Senior Engineer");
@@ -0,0 +1,125 @@
+package com.employeeservice.intialize;
+
+import com.employeeservice.entity.Employee;
+import com.employeeservice.snapshot.EmployeeSnapshotStore;
+import com.employeeservice.version.EmployeeTableVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads employee.generator.count synthetic Employees at startup, in place of the few hard-coded ones.
+ * <p>
+ * The Employees are generated and inserted in chunks of employee.generator.chunk-size, one transaction per chunk,
+ * by employee.generator.threads threads. Within a chunk the inserts go out in JDBC batches.
+ */
+@Slf4j
+@Component
+@Profile("generate")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EmployeeTableVersion employeeTableVersion;
+
+    @Autowired(required = false)
+    EmployeeSnapshotStore employeeSnapshotStore;
+
+    @Value("${employee.generator.count:1000000}")
+    long count;
+
+    @Value("${employee.generator.seed:42}")
+    long seed;
+
+    @Value("${employee.generator.threads:4}")
+    int threads;
+
+    @Value("${employee.generator.chunk-size:10000}")
+    int chunkSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    int batchSize;
+
+    @Override
+    public void run(String... args) throws Exception {
+
+        if (employeeSnapshotStore != null && employeeSnapshotStore.isRestored()) {
+            log.info("Employees restored from the snapshot, no Employees are generated.");
+            return;
+        }
+        log.info("Generating {} Employees with the seed {} on {} threads.", count, seed, threads);
+        SyntheticEmployees syntheticEmployees = new SyntheticEmployees(seed);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicLong loaded = new AtomicLong();
+        long chunks = (count + chunkSize - 1) / chunkSize;
+        long reportEvery = Math.max(1, chunks / 10);
+        long start = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long chunkIndex = chunk;
+                int size = (int) Math.min(chunkSize, count - chunk * chunkSize);
+                futures.add(executor.submit(() -> {
+                    List<Employee> employees = syntheticEmployees.chunk(chunkIndex, size);
+                    transactionTemplate.execute(status -> {
+                        insert(employees);
+                        return null;
+                    });
+                    long total = loaded.addAndGet(size);
+                    if (chunkIndex % reportEvery == 0) {
+                        log.info("Loaded {} of {} Employees, {} rows/s.", total, count, throughput(total, start));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Generating the Employees failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        // requests may have been served while the rows were loaded
+        employeeTableVersion.increment();
+        log.info("Generated {} Employees in {} ms, {} rows/s.", loaded.get(), System.currentTimeMillis() - start,
+                throughput(loaded.get(), start));
+    }
+
+    private void insert(List<Employee> employees) {
+        for (int i = 0; i < employees.size(); i++) {
+            entityManager.persist(employees.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static long throughput(long rows, long start) {
+        return rows * 1000 / Math.max(1, System.currentTimeMillis() - start);
+    }
+}
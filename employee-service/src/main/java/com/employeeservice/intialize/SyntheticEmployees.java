@@ -0,0 +1,102 @@
+package com.employeeservice.intialize;
+
+import com.employeeservice.entity.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates realistic looking Employees for load and capacity tests.
+ * <p>
+ * Each chunk has its own random sequence derived from the seed and the chunk index, so the same seed always
+ * generates the same Employees no matter how many threads generate the chunks or in which order.
+ */
+public class SyntheticEmployees {
+
+    private static final String[] MALE_FIRST_NAMES = {
+            "James", "John", "Robert", "Michael", "William", "David", "Richard", "Joseph", "Thomas", "Charles",
+            "Christopher", "Daniel", "Matthew", "Anthony", "Mark", "Donald", "Steven", "Paul", "Andrew", "Joshua",
+            "Kenneth", "Kevin", "Brian", "George", "Timothy", "Ronald", "Edward", "Jason", "Jeffrey", "Ryan",
+            "Jacob", "Gary", "Nicholas", "Eric", "Jonathan", "Stephen", "Larry", "Justin", "Scott", "Brandon",
+            "Benjamin", "Samuel", "Gregory", "Alexander", "Frank", "Patrick", "Raymond", "Jack", "Dennis", "Adam"};
+
+    private static final String[] FEMALE_FIRST_NAMES = {
+            "Mary", "Patricia", "Jennifer", "Linda", "Elizabeth", "Barbara", "Susan", "Jessica", "Sarah", "Karen",
+            "Lisa", "Nancy", "Betty", "Margaret", "Sandra", "Ashley", "Kimberly", "Emily", "Donna", "Michelle",
+            "Carol", "Amanda", "Dorothy", "Melissa", "Deborah", "Stephanie", "Rebecca", "Sharon", "Laura", "Cynthia",
+            "Kathleen", "Amy", "Angela", "Shirley", "Anna", "Brenda", "Pamela", "Emma", "Nicole", "Helen",
+            "Samantha", "Katherine", "Christine", "Debra", "Rachel", "Carolyn", "Janet", "Catherine", "Maria", "Jenny"};
+
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez", "Lewis", "Robinson",
+            "Walker", "Young", "Allen", "King", "Wright", "Scott", "Torres", "Nguyen", "Hill", "Flores",
+            "Green", "Adams", "Nelson", "Baker", "Hall", "Rivera", "Campbell", "Mitchell", "Carter", "Roberts",
+            "Gomez", "Phillips", "Evans", "Turner", "Diaz", "Parker", "Cruz", "Edwards", "Collins", "Reyes",
+            "Stewart", "Morris", "Morales", "Murphy", "Cook", "Rogers", "Gutierrez", "Ortiz", "Morgan", "Cooper",
+            "Peterson", "Bailey", "Reed", "Kelly", "Howard", "Ramos", "Kim", "Cox", "Ward", "Richardson",
+            "Watson", "Brooks", "Chavez", "Wood", "James", "Bennett", "Gray", "Mendoza", "Ruiz", "Hughes",
+            "Price", "Alvarez", "Castillo", "Sanders", "Patel", "Myers", "Long", "Ross", "Foster", "Sandler"};
+
+    private static final String[] ROLES = {
+            "Engineer", "Senior Engineer", "Lead Engineer", "QA Engineer", "Architect", "Manager", "Director"};
+
+    // cumulative percentages of the ROLES, most Employees are individual contributors
+    private static final int[] ROLE_PERCENTILES = {40, 65, 75, 85, 90, 98, 100};
+
+    private final long seed;
+
+    public SyntheticEmployees(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the Employees of the given chunk, their ids are left to the sequence.
+     */
+    public List<Employee> chunk(long chunkIndex, int size) {
+
+        Random random = new Random(mix(seed * 0x9E3779B97F4A7C15L + mix(chunkIndex)));
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean female = random.nextInt(100) < 48;
+            String firstName = skewed(random, female ? FEMALE_FIRST_NAMES : MALE_FIRST_NAMES);
+            String lastName = skewed(random, LAST_NAMES);
+            employees.add(new Employee(null, firstName, lastName, age(random), female ? "female" : "male", role(random)));
+        }
+        return employees;
+    }
+
+    /**
+     * The finalizer of SplitMix64, spreads every bit of the value over all the bits of the result. Mixing the
+     * chunk index before it's combined with the seed keeps nearby seeds and chunks from sharing a sequence.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    /**
+     * Picks the names at the start of the array more often, like common names are in a real company.
+     */
+    private static String skewed(Random random, String[] values) {
+        double uniform = random.nextDouble();
+        return values[(int) (uniform * uniform * values.length)];
+    }
+
+    private static int age(Random random) {
+        int age = (int) Math.round(38 + random.nextGaussian() * 10);
+        return Math.max(20, Math.min(67, age));
+    }
+
+    private static String role(Random random) {
+        int percentile = random.nextInt(100);
+        int index = 0;
+        while (percentile >= ROLE_PERCENTILES[index]) {
+            index++;
+        }
+        return ROLES[index];
+    }
+}
@@ -0,0 +1,31 @@
+package com.employeeservice.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Async appender that counts the events it drops.
+ * <p>
+ * Configured with neverBlock the appender drops an event instead of blocking the request thread when the
+ * queue is full. Logback doesn't report those drops, so the queue is checked before every append.
+ * The check races with the worker draining the queue, the count is a close estimate.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    private static final AtomicLong DROPPED_EVENTS = new AtomicLong();
+
+    public static long droppedEvents() {
+        return DROPPED_EVENTS.get();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (getRemainingCapacity() == 0
+                || (isDiscardable(event) && getRemainingCapacity() < getDiscardingThreshold())) {
+            DROPPED_EVENTS.incrementAndGet();
+        }
+        super.append(event);
+    }
+}
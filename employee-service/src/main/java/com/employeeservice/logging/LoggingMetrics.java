@@ -0,0 +1,17 @@
+package com.employeeservice.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("logging.events.dropped", this, metrics -> DroppingAsyncAppender.droppedEvents())
+                .description("Log events dropped because the async appender queue was full")
+                .register(registry);
+    }
+}
@@ -0,0 +1,46 @@
+package com.employeeservice.logging;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Logs request and response payloads for a sample of the requests only.
+ * <p>
+ * Rendering an Employee or a list of Employees through toString costs more than the rest of the log line,
+ * so payloads are logged when debug is enabled for the logger or when the current request is sampled.
+ * The sampling decision is taken once per request, all payloads of a sampled request are logged.
+ */
+@Component
+public class SampledRequestLogger {
+
+    private static final String SAMPLED_ATTRIBUTE = SampledRequestLogger.class.getName() + ".SAMPLED";
+
+    @Value("${employee.logging.sample-rate:0.01}")
+    double sampleRate;
+
+    public void payload(Logger logger, String message, Object... arguments) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message, arguments);
+        } else if (logger.isInfoEnabled() && isSampled()) {
+            logger.info(message, arguments);
+        }
+    }
+
+    public boolean isSampled() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return false;
+        }
+        Boolean sampled = (Boolean) attributes.getAttribute(SAMPLED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (sampled == null) {
+            sampled = sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+            attributes.setAttribute(SAMPLED_ATTRIBUTE, sampled, RequestAttributes.SCOPE_REQUEST);
+        }
+        return sampled;
+    }
+}
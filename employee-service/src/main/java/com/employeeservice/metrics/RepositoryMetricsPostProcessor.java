@@ -0,0 +1,61 @@
+package com.employeeservice.metrics;
+
+import com.employeeservice.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Times every call of the EmployeeRepository, so the time spent in the DB can be told apart from the time spent
+ * serializing the responses in the http.server.requests timers.
+ * <p>
+ * The Stream queries are timed until the Stream is returned, not until it's consumed.
+ */
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    public static final String METRIC_NAME = "employee.repository.invocations";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+
+        if (!(bean instanceof EmployeeRepository)) {
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(bean);
+        proxyFactory.addInterface(EmployeeRepository.class);
+        proxyFactory.addAdvice((MethodInterceptor) this::time);
+        return proxyFactory.getProxy();
+    }
+
+    private Object time(MethodInvocation invocation) throws Throwable {
+
+        // looked up on the first call, the registry isn't ready yet when the repository is created
+        MeterRegistry registry = meterRegistry.getObject();
+        Timer.Sample sample = Timer.start(registry);
+        String exception = "None";
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Calls of the EmployeeRepository")
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("outcome", "None".equals(exception) ? "SUCCESS" : "ERROR")
+                    .tag("exception", exception)
+                    .register(registry));
+        }
+    }
+}
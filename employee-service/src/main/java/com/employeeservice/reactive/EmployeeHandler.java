@@ -0,0 +1,464 @@
+package com.employeeservice.reactive;
+
+import com.employeeservice.cache.EmployeeJsonCache;
+import com.employeeservice.dto.BulkEmployeeResponse;
+import com.employeeservice.dto.EmployeePage;
+import com.employeeservice.entity.Employee;
+import com.employeeservice.exception.EmployeeErrorException;
+import com.employeeservice.exception.ErrorBodies;
+import com.employeeservice.service.EmployeeImport;
+import com.employeeservice.service.EmployeeImportService;
+import com.employeeservice.service.EmployeeService;
+import com.employeeservice.stream.EmployeeStreamWriter;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+
+import static com.employeeservice.constants.EmployeeConstants.*;
+
+/**
+ * Reactive counterpart of the EmployeeController, serving the same routes with the same status codes and bodies.
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class EmployeeHandler {
+
+    private static final ParameterizedTypeReference<List<Employee>> EMPLOYEE_LIST = new ParameterizedTypeReference<List<Employee>>() {
+    };
+
+    private static final MediaType SMILE = MediaType.valueOf(APPLICATION_SMILE_VALUE);
+
+    private static final int STREAM_PAGE_SIZE = 500;
+
+    private static final EmployeeErrorException SERVER_ERROR = new EmployeeErrorException(HttpStatus.INTERNAL_SERVER_ERROR, SERVER_ERROR_MESSAGE, null);
+
+    private final DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeImportService employeeImportService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    Scheduler dbScheduler;
+
+    @Autowired
+    EmployeeJsonCache employeeJsonCache;
+
+    @Autowired
+    ErrorBodies errorBodies;
+
+    public Mono<ServerResponse> allEmployees(ServerRequest request) {
+
+        List<String> fields = fields(request);
+        String eTag = employeeService.collectionETag();
+        if (isNotModified(request, eTag)) {
+            return notModified(eTag);
+        }
+        log.info("Recieved request for  retrieving all Employees");
+        if (fields == null && isJson(request)) {
+            return blocking(() -> employeeJsonCache.jsonArray(employeeService.findAll()))
+                    .flatMap(json -> ServerResponse.ok().eTag(eTag).contentType(MediaType.APPLICATION_JSON_UTF8).syncBody(json));
+        }
+        return blocking(() -> fields == null ? (List<?>) employeeService.findAll() : employeeService.findAll(fields))
+                .flatMap(employees -> ServerResponse.ok().eTag(eTag).contentType(bodyType(request)).syncBody(employees));
+    }
+
+    public Mono<ServerResponse> streamAllEmployees(ServerRequest request) {
+
+        log.info("Recieved request for streaming all Employees");
+        Flux<Employee> employees = pages().flatMapIterable(EmployeePage::getEmployees);
+        return ServerResponse.ok()
+                .contentType(streamingContentType(request))
+                .body(BodyInserters.fromDataBuffers(ndjson(employees)));
+    }
+
+    public Mono<ServerResponse> exportEmployeesCsv(ServerRequest request) {
+
+        log.info("Recieved request for exporting all Employees as CSV");
+        // one buffer per page, the next page is read when the client took the previous one
+        Flux<DataBuffer> rows = pages().map(page -> csv(page.getEmployees()));
+        return ServerResponse.ok()
+                .contentType(MediaType.valueOf(TEXT_CSV_VALUE + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"employees.csv\"")
+                .body(BodyInserters.fromDataBuffers(Flux.concat(
+                        Mono.fromSupplier(() -> bufferFactory.wrap(EmployeeStreamWriter.CSV_HEADER.getBytes(StandardCharsets.UTF_8))),
+                        rows)));
+    }
+
+    public Mono<ServerResponse> employeesPage(ServerRequest request) {
+
+        String eTag = employeeService.collectionETag();
+        if (isNotModified(request, eTag)) {
+            return notModified(eTag);
+        }
+        Optional<String> cursor = request.queryParam("cursor");
+        Integer size = request.queryParam("size").map(Integer::valueOf).orElse(null);
+        return blocking(() -> employeeService.findPage(cursor.orElse(null), size))
+                .flatMap(page -> ServerResponse.ok().eTag(eTag).contentType(bodyType(request)).syncBody(page));
+    }
+
+    public Mono<ServerResponse> employeeStats(ServerRequest request) {
+
+        String eTag = employeeService.collectionETag();
+        if (isNotModified(request, eTag)) {
+            return notModified(eTag);
+        }
+        // answered from in memory counters, there is nothing to offload
+        return ServerResponse.ok().eTag(eTag).contentType(bodyType(request)).syncBody(employeeService.stats());
+    }
+
+    public Mono<ServerResponse> employeeChanges(ServerRequest request) {
+
+        String sinceParam = request.queryParam("since").orElse(request.headers().asHttpHeaders().getFirst("Last-Event-ID"));
+        Long since = sinceParam == null ? null : Long.valueOf(sinceParam);
+        log.info("Received the request to stream the Employee changes after the sequence - {} .", since);
+        if (!employeeService.changesRetained(since)) {
+            return ServerResponse.status(HttpStatus.GONE).build();
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(employeeService.changes(since)));
+    }
+
+    public Mono<ServerResponse> employeeById(ServerRequest request) {
+
+        Long id = Long.valueOf(request.pathVariable("id"));
+        List<String> fields = fields(request);
+        boolean cachedJson = fields == null && isJson(request);
+        // only the version is read for a conditional request or a cached body, the Employee itself is loaded when it changed
+        Mono<Optional<Long>> version = !cachedJson && request.headers().header(HttpHeaders.IF_NONE_MATCH).isEmpty()
+                ? Mono.just(Optional.empty())
+                : blocking(() -> employeeService.findVersionById(id));
+        return version.flatMap(currentVersion -> {
+            if (currentVersion.isPresent() && isNotModified(request, employeeService.employeeETag(id, currentVersion.get()))) {
+                return notModified(employeeService.employeeETag(id, currentVersion.get()));
+            }
+            if (cachedJson) {
+                return blocking(() -> currentVersion.flatMap(current -> employeeService.findJsonById(id, current)))
+                        .flatMap(json -> json.isPresent()
+                                ? ServerResponse.ok()
+                                        .eTag(employeeService.employeeETag(id, json.get().getVersion()))
+                                        .contentType(MediaType.APPLICATION_JSON_UTF8)
+                                        .syncBody(json.get().getJson())
+                                : Mono.error(notFoundId(id)));
+            }
+            if (fields != null) {
+                return blocking(() -> employeeService.findById(id, fields))
+                        .flatMap(employee -> employee.isPresent()
+                                ? ServerResponse.ok().contentType(bodyType(request)).syncBody(employee.get())
+                                : Mono.error(notFoundId(id)));
+            }
+            return blocking(() -> employeeService.findById(id))
+                    .flatMap(employee -> {
+                        if (!employee.isPresent()) {
+                            log.info("No Employee available with the given Employee Id - {}", id);
+                            return Mono.error(notFoundId(id));
+                        }
+                        return ServerResponse.ok()
+                                .eTag(employeeService.employeeETag(id, employee.get().getVersion()))
+                                .contentType(bodyType(request))
+                                .syncBody(employee.get());
+                    });
+        });
+    }
+
+    public Mono<ServerResponse> employeesByName(ServerRequest request) {
+
+        String name = employeeName(request);
+        List<String> fields = fields(request);
+        log.info("Received the request to search by Employee name - {} .", name);
+        if (fields == null && isJson(request)) {
+            return blocking(() -> employeeService.searchByName(name))
+                    .flatMap(employees -> {
+                        if (employees.isEmpty()) {
+                            log.info("No Employee available for the given Employee name - {}.", name);
+                            return Mono.error(notFoundName(name));
+                        }
+                        log.info("Found {} Employees for the given Employee name - {}.", employees.size(), name);
+                        return ServerResponse.ok()
+                                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                                .syncBody(employeeJsonCache.jsonArray(employees));
+                    });
+        }
+        return blocking(() -> fields == null ? (List<?>) employeeService.searchByName(name) : employeeService.searchByName(name, fields))
+                .flatMap(employees -> {
+                    if (employees.isEmpty()) {
+                        log.info("No Employee available for the given Employee name - {}.", name);
+                        return Mono.error(notFoundName(name));
+                    }
+                    log.info("Found {} Employees for the given Employee name - {}.", employees.size(), name);
+                    return ServerResponse.ok().contentType(bodyType(request)).syncBody(employees);
+                });
+    }
+
+    public Mono<ServerResponse> streamEmployeesByName(ServerRequest request) {
+
+        String name = employeeName(request);
+        log.info("Received the request to stream by Employee name - {} .", name);
+        return namePage(name, Long.MIN_VALUE)
+                .flatMap(firstPage -> {
+                    // nothing is written yet, so a miss can still be answered with a 404
+                    if (firstPage.isEmpty()) {
+                        log.info("No Employee available for the given Employee name - {}.", name);
+                        return Mono.error(notFoundName(name));
+                    }
+                    // the next page is only read once the previous one is written
+                    Flux<Employee> employees = Mono.just(firstPage)
+                            .expand(page -> page.size() < STREAM_PAGE_SIZE
+                                    ? Mono.empty()
+                                    : namePage(name, page.get(page.size() - 1).getId()))
+                            .concatMapIterable(page -> page);
+                    return ServerResponse.ok()
+                            .contentType(streamingContentType(request))
+                            .body(BodyInserters.fromDataBuffers(ndjson(employees)));
+                });
+    }
+
+    public Mono<ServerResponse> createEmployee(ServerRequest request) {
+
+        log.info("Received the request to add a new Employee in the service");
+        return request.bodyToMono(Employee.class)
+                .flatMap(employee -> {
+                    String error = employeeService.validate(employee);
+                    if (error != null) {
+                        log.info("ErrorMessage : " + error);
+                        return ServerResponse.badRequest().contentType(MediaType.TEXT_PLAIN).syncBody(error);
+                    }
+                    return blocking(() -> employeeService.create(employee))
+                            .flatMap(addedEmployee -> ServerResponse.status(HttpStatus.CREATED)
+                                    .contentType(bodyType(request))
+                                    .syncBody(addedEmployee));
+                });
+    }
+
+    public Mono<ServerResponse> createEmployees(ServerRequest request) {
+
+        return request.bodyToMono(EMPLOYEE_LIST)
+                .flatMap(employees -> {
+                    log.info("Received the request to add {} new Employees in the service", employees.size());
+                    return blocking(() -> employeeService.createAll(employees));
+                })
+                .flatMap(response -> ServerResponse.status(status(response))
+                        .contentType(bodyType(request))
+                        .syncBody(response));
+    }
+
+    public Mono<ServerResponse> importEmployees(ServerRequest request) {
+
+        log.info("Received the request to import Employees in the service");
+        // the body is decoded line by line and the lines are passed to the import on the db scheduler, the
+        // next lines are only read from the connection when the current ones are taken
+        return Mono.defer(() -> {
+            EmployeeImport employeeImport = employeeImportService.begin();
+            return request.bodyToFlux(String.class)
+                    .publishOn(dbScheduler)
+                    .doOnNext(employeeImport::line)
+                    .then(blocking(employeeImport::finish));
+        }).flatMap(response -> ServerResponse.status(response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                .contentType(bodyType(request))
+                .syncBody(response));
+    }
+
+    public Mono<ServerResponse> updateEmployee(ServerRequest request) {
+
+        Long id = Long.valueOf(request.pathVariable("id"));
+        log.info("Received the request to update the employee. Employee Id is {}", id);
+        return request.bodyToMono(Employee.class)
+                .flatMap(updateEmployee -> blocking(() -> employeeService.update(id, updateEmployee)))
+                .flatMap(updatedEmployee -> {
+                    if (!updatedEmployee.isPresent()) {
+                        log.info("No Employee available for the given Movie Id - {}.", id);
+                        return Mono.error(notFoundId(id));
+                    }
+                    return ServerResponse.ok()
+                            .eTag(employeeService.employeeETag(id, updatedEmployee.get().getVersion()))
+                            .contentType(bodyType(request))
+                            .syncBody(updatedEmployee.get());
+                });
+    }
+
+    public Mono<ServerResponse> patchEmployee(ServerRequest request) {
+
+        Long id = Long.valueOf(request.pathVariable("id"));
+        log.info("Received the request to patch the employee. Employee Id is {}", id);
+        return request.bodyToMono(Employee.class)
+                .flatMap(patchEmployee -> blocking(() -> employeeService.patch(id, patchEmployee)))
+                .flatMap(patched -> {
+                    if (!patched) {
+                        log.info("No Employee available for the given Employee Id - {}.", id);
+                        return Mono.error(notFoundId(id));
+                    }
+                    return ServerResponse.noContent().build();
+                });
+    }
+
+    public Mono<ServerResponse> deleteEmployee(ServerRequest request) {
+
+        Long id = Long.valueOf(request.pathVariable("id"));
+        log.info("Received the request to delete a Employee and the id is {} .", id);
+        return blocking(() -> employeeService.delete(id))
+                .flatMap(deleted -> {
+                    if (!deleted) {
+                        log.info("No Employee available for the given Movie Id - {}.", id);
+                        return Mono.error(notFoundId(id));
+                    }
+                    log.info("Employee Successfully deleted from the DB");
+                    return ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).syncBody(DELETE_MESSAGE);
+                });
+    }
+
+    public Mono<ServerResponse> errorEndpoint(ServerRequest request) {
+        return Mono.error(SERVER_ERROR);
+    }
+
+    /**
+     * Renders the expected errors like the GlobalExceptionHandler of the servlet mode.
+     */
+    public Mono<ServerResponse> errorResponse(EmployeeErrorException ex) {
+        return ServerResponse.status(ex.getStatus())
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .syncBody(errorBodies.render(ex));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(dbScheduler);
+    }
+
+    private Mono<List<Employee>> namePage(String name, Long afterId) {
+        return blocking(() -> employeeService.searchByNamePage(name, afterId, STREAM_PAGE_SIZE));
+    }
+
+    // walks the table page by page, so only one page is held at a time
+    private Flux<EmployeePage> pages() {
+        return blocking(() -> employeeService.findPage(null, null))
+                .expand(page -> page.getNextCursor() == null
+                        ? Mono.empty()
+                        : blocking(() -> employeeService.findPage(page.getNextCursor(), null)));
+    }
+
+    private DataBuffer csv(List<Employee> employees) {
+        StringWriter writer = new StringWriter();
+        try {
+            for (Employee employee : employees) {
+                EmployeeStreamWriter.writeCsvRow(writer, employee);
+            }
+        } catch (IOException e) {
+            throw Exceptions.propagate(e);
+        }
+        return bufferFactory.wrap(writer.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Flux<DataBuffer> ndjson(Flux<Employee> employees) {
+        return employees.map(employee -> {
+            try {
+                byte[] json = objectMapper.writeValueAsBytes(employee);
+                byte[] line = Arrays.copyOf(json, json.length + 1);
+                line[json.length] = '\n';
+                return bufferFactory.wrap(line);
+            } catch (JsonProcessingException e) {
+                throw Exceptions.propagate(e);
+            }
+        });
+    }
+
+    private boolean isNotModified(ServerRequest request, String eTag) {
+        for (String ifNoneMatch : request.headers().header(HttpHeaders.IF_NONE_MATCH)) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                if (value.equals("*") || value.equals(eTag) || value.equals("W/" + eTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private Mono<ServerResponse> notModified(String eTag) {
+        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    private HttpStatus status(BulkEmployeeResponse response) {
+        return response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+    }
+
+    /**
+     * Smile when the client prefers it, JSON otherwise. WebFlux 5.1 has no CBOR codec, so CBOR is servlet mode only.
+     */
+    private MediaType bodyType(ServerRequest request) {
+        List<MediaType> accepted = new ArrayList<>(request.headers().accept());
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType mediaType : accepted) {
+            if (mediaType.equalsTypeAndSubtype(SMILE)) {
+                return SMILE;
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                break;
+            }
+        }
+        return MediaType.APPLICATION_JSON_UTF8;
+    }
+
+    /**
+     * JSON bodies of whole Employees are concatenated from the JSON cache instead of being encoded.
+     */
+    private boolean isJson(ServerRequest request) {
+        return EmployeeJsonCache.servesJson(String.join(",", request.headers().header(HttpHeaders.ACCEPT)));
+    }
+
+    private MediaType streamingContentType(ServerRequest request) {
+        MediaType ndjson = MediaType.valueOf(APPLICATION_NDJSON_VALUE);
+        return request.headers().accept().stream().anyMatch(ndjson::equalsTypeAndSubtype)
+                ? ndjson
+                : MediaType.APPLICATION_STREAM_JSON;
+    }
+
+    private String employeeName(ServerRequest request) {
+        return request.queryParam("employee_name")
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Required parameter employee_name is not present"));
+    }
+
+    private List<String> fields(ServerRequest request) {
+        return employeeService.parseFields(request.queryParam("fields").orElse(null));
+    }
+
+    private EmployeeErrorException notFoundId(Long id) {
+        return new EmployeeErrorException(HttpStatus.NOT_FOUND, NOT_FOUND_ID_MESSAGE, String.valueOf(id));
+    }
+
+    private EmployeeErrorException notFoundName(String name) {
+        return new EmployeeErrorException(HttpStatus.NOT_FOUND, NOT_FOUND_NAME_MESSAGE, name);
+    }
+}
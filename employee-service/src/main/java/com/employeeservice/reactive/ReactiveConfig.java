@@ -0,0 +1,102 @@
+package com.employeeservice.reactive;
+
+import com.employeeservice.exception.EmployeeErrorException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.employeeservice.constants.EmployeeConstants.*;
+import static org.springframework.web.reactive.function.server.RequestPredicates.*;
+import static org.springframework.web.reactive.function.server.RouterFunctions.nest;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+/**
+ * Serves the Employee routes with reactive handlers on Netty instead of Spring MVC on Tomcat.
+ * <p>
+ * The repository is still JPA, its blocking calls run on a scheduler sized like the connection pool, so the
+ * event loop threads only move bytes and a slow client never holds a thread.
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        // tomcat is on the classpath for the servlet mode and would be picked otherwise
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler dbScheduler(@Value("${employee.reactive.db-threads:10}") int dbThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return Schedulers.fromExecutorService(Executors.newFixedThreadPool(dbThreads, runnable -> {
+            Thread thread = new Thread(runnable, "employee-db-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> employeeRoutes(EmployeeHandler employeeHandler,
+                                                         @Value("${server.servlet.context-path:}") String contextPath) {
+
+        RouterFunction<ServerResponse> routes = route(GET(ERROR_ENDPOINT), timed(ERROR_ENDPOINT, employeeHandler::errorEndpoint))
+                .andRoute(GET(GET_ALL_MOVIES_V1).and(acceptsStream()), timed(GET_ALL_MOVIES_V1, employeeHandler::streamAllEmployees))
+                .andRoute(GET(GET_ALL_MOVIES_V1), timed(GET_ALL_MOVIES_V1, employeeHandler::allEmployees))
+                .andRoute(GET(GET_EMPLOYEES_V1), timed(GET_EMPLOYEES_V1, employeeHandler::employeesPage))
+                .andRoute(GET(EMPLOYEE_STATS_V1), timed(EMPLOYEE_STATS_V1, employeeHandler::employeeStats))
+                .andRoute(GET(EMPLOYEE_CHANGES_V1), timed(EMPLOYEE_CHANGES_V1, employeeHandler::employeeChanges))
+                .andRoute(GET(EXPORT_EMPLOYEES_CSV_V1), timed(EXPORT_EMPLOYEES_CSV_V1, employeeHandler::exportEmployeesCsv))
+                .andRoute(GET(EMPLOYEE_BY_ID_PATH_PARAM_V1), timed(EMPLOYEE_BY_ID_PATH_PARAM_V1, employeeHandler::employeeById))
+                .andRoute(GET(EMPLOYEE_BY_NAME_QUERY_PARAM_V1).and(acceptsStream()), timed(EMPLOYEE_BY_NAME_QUERY_PARAM_V1, employeeHandler::streamEmployeesByName))
+                .andRoute(GET(EMPLOYEE_BY_NAME_QUERY_PARAM_V1), timed(EMPLOYEE_BY_NAME_QUERY_PARAM_V1, employeeHandler::employeesByName))
+                .andRoute(POST(ADD_EMPLOYEES_BULK_V1), timed(ADD_EMPLOYEES_BULK_V1, employeeHandler::createEmployees))
+                .andRoute(POST(IMPORT_EMPLOYEES_V1), timed(IMPORT_EMPLOYEES_V1, employeeHandler::importEmployees))
+                .andRoute(POST(ADD_EMPLOYEE_V1), timed(ADD_EMPLOYEE_V1, employeeHandler::createEmployee))
+                .andRoute(PUT(EMPLOYEE_BY_ID_PATH_PARAM_V1), timed(EMPLOYEE_BY_ID_PATH_PARAM_V1, employeeHandler::updateEmployee))
+                .andRoute(PATCH(EMPLOYEE_BY_ID_PATH_PARAM_V1), timed(EMPLOYEE_BY_ID_PATH_PARAM_V1, employeeHandler::patchEmployee))
+                .andRoute(DELETE(EMPLOYEE_BY_ID_PATH_PARAM_V1), timed(EMPLOYEE_BY_ID_PATH_PARAM_V1, employeeHandler::deleteEmployee))
+                .filter((request, next) -> next.handle(request)
+                        .onErrorResume(EmployeeErrorException.class, employeeHandler::errorResponse));
+
+        // there is no servlet context in this mode, the context path becomes part of the routes
+        return contextPath.isEmpty() ? routes : nest(path(contextPath), routes);
+    }
+
+    /**
+     * Exposes the route to the http.server.requests metrics as the uri tag, Spring 5.1 only does that for
+     * annotated controllers and the requests would be tagged UNKNOWN otherwise.
+     */
+    private static HandlerFunction<ServerResponse> timed(String pattern, HandlerFunction<ServerResponse> handler) {
+        PathPattern pathPattern = new PathPatternParser().parse(pattern);
+        return request -> {
+            request.attributes().put(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pathPattern);
+            return handler.handle(request);
+        };
+    }
+
+    /**
+     * Unlike accept(..), doesn't match wildcards, so clients without an Accept header get the JSON array.
+     */
+    private static RequestPredicate acceptsStream() {
+        MediaType ndjson = MediaType.valueOf(APPLICATION_NDJSON_VALUE);
+        return request -> request.headers().accept().stream()
+                .anyMatch(mediaType -> mediaType.equalsTypeAndSubtype(MediaType.APPLICATION_STREAM_JSON)
+                        || mediaType.equalsTypeAndSubtype(ndjson));
+    }
+}
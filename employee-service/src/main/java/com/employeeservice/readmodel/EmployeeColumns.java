@@ -0,0 +1,296 @@
+package com.employeeservice.readmodel;
+
+import com.employeeservice.entity.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable snapshot of all the Employees, stored column by column in segments of up to SEGMENT_ROWS rows
+ * ordered by id.
+ * <p>
+ * Ids, versions and ages are primitive arrays, the gender and the role are codes of a dictionary per column and
+ * the names are UTF-8 bytes, so a row takes a few dozen bytes instead of an entity with a String per field.
+ * Reads materialize Employees from the rows they return.
+ * <p>
+ * A write returns a new snapshot that shares every segment it didn't change with this one. An update or a
+ * delete copies one segment, an Employee with a larger id than all the others is appended to the last one.
+ */
+public final class EmployeeColumns {
+
+    static final int SEGMENT_ROWS = 4096;
+
+    public static final EmployeeColumns EMPTY = new EmployeeColumns(new EmployeeSegment[0], EmployeeDictionary.EMPTY,
+            EmployeeDictionary.EMPTY, 0);
+
+    private final EmployeeSegment[] segments;
+
+    private final EmployeeDictionary genders;
+
+    private final EmployeeDictionary roles;
+
+    private final int size;
+
+    private EmployeeColumns(EmployeeSegment[] segments, EmployeeDictionary genders, EmployeeDictionary roles, int size) {
+        this.segments = segments;
+        this.genders = genders;
+        this.roles = roles;
+        this.size = size;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Employee get(long id) {
+        int segment = segmentOf(id);
+        int row = segment < 0 ? -1 : segments[segment].indexOf(id);
+        return row < 0 ? null : segments[segment].employee(row, genders, roles);
+    }
+
+    /**
+     * Returns the version of the Employee, null when there is none with the id.
+     */
+    public Long version(long id) {
+        int segment = segmentOf(id);
+        int row = segment < 0 ? -1 : segments[segment].indexOf(id);
+        return row < 0 ? null : segments[segment].version(row);
+    }
+
+    /**
+     * Returns up to limit Employees with an id larger than the given one, ordered by id.
+     */
+    public List<Employee> after(long id, int limit) {
+
+        List<Employee> employees = new ArrayList<>(Math.min(limit, size));
+        int segment = Math.max(segmentOf(id), 0);
+        int row = segment < segments.length ? segments[segment].indexOf(id) : 0;
+        row = row >= 0 ? row + 1 : -row - 1;
+        for (; segment < segments.length && employees.size() < limit; segment++, row = 0) {
+            for (; row < segments[segment].size() && employees.size() < limit; row++) {
+                employees.add(segments[segment].employee(row, genders, roles));
+            }
+        }
+        return employees;
+    }
+
+    public List<Employee> all() {
+        List<Employee> employees = new ArrayList<>(size);
+        for (EmployeeSegment segment : segments) {
+            for (int row = 0; row < segment.size(); row++) {
+                employees.add(segment.employee(row, genders, roles));
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Bytes taken by the segments, the dictionaries are left out, they hold a handful of values.
+     */
+    public long estimatedBytes() {
+        long bytes = 16 + 16 + 4L * segments.length;
+        for (EmployeeSegment segment : segments) {
+            bytes += segment.estimatedBytes();
+        }
+        return bytes;
+    }
+
+    int segmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * Adds the Employee, or replaces the one with the same id. The version is taken from the Employee, a put of
+     * an older version than the one held returns the same snapshot: the writes of two threads can reach the read
+     * model in the order the threads finish, not the order they were committed in.
+     */
+    public EmployeeColumns put(Employee employee) {
+
+        EmployeeDictionary genderValues = genders.with(employee.getGender());
+        EmployeeDictionary roleValues = roles.with(employee.getRole());
+        int gender = genderValues.code(employee.getGender());
+        int role = roleValues.code(employee.getRole());
+        long id = employee.getId();
+
+        int segment = segmentOf(id);
+        if (segment < 0 && segments.length == 0) {
+            return withSegments(new EmployeeSegment[]{newSegment(employee, gender, role)}, genderValues, roleValues, size + 1);
+        }
+        int index = Math.max(segment, 0);
+        EmployeeSegment target = segments[index];
+        int row = target.indexOf(id);
+        if (row >= 0) {
+            if (employee.getVersion() < target.version(row)) {
+                return this;
+            }
+            return withSegment(index, target.replacing(row, employee, gender, role, capacity(index, target.size())),
+                    genderValues, roleValues, size);
+        }
+        if (isLast(index) && id > target.lastId()) {
+            EmployeeSegment appended = target.append(employee, gender, role);
+            if (appended != null) {
+                return withSegment(index, appended, genderValues, roleValues, size + 1);
+            }
+            EmployeeSegment[] added = Arrays.copyOf(segments, segments.length + 1);
+            added[segments.length] = newSegment(employee, gender, role);
+            return withSegments(added, genderValues, roleValues, size + 1);
+        }
+        // an id between the others, only when the writes of two threads are applied out of the order of their ids
+        EmployeeSegment inserted = target.inserting(-row - 1, employee, gender, role, capacity(index, target.size() + 1));
+        if (inserted.size() <= 2 * SEGMENT_ROWS) {
+            return withSegment(index, inserted, genderValues, roleValues, size + 1);
+        }
+        EmployeeSegment[] halves = inserted.split(capacity(index, 0));
+        EmployeeSegment[] split = new EmployeeSegment[segments.length + 1];
+        System.arraycopy(segments, 0, split, 0, index);
+        split[index] = halves[0];
+        split[index + 1] = halves[1];
+        System.arraycopy(segments, index + 1, split, index + 2, segments.length - index - 1);
+        return withSegments(split, genderValues, roleValues, size + 1);
+    }
+
+    /**
+     * Sets the non null fields of the patch and its version, the one the patch statement gave the row, on the
+     * Employee with its id. Returns this snapshot when there is no Employee with the id or the patch isn't newer
+     * than the Employee held.
+     */
+    public EmployeeColumns patch(Employee patchedFields) {
+
+        Employee employee = get(patchedFields.getId());
+        if (employee == null || patchedFields.getVersion() <= employee.getVersion()) {
+            return this;
+        }
+        if (patchedFields.getFirstName() != null) {
+            employee.setFirstName(patchedFields.getFirstName());
+        }
+        if (patchedFields.getLastName() != null) {
+            employee.setLastName(patchedFields.getLastName());
+        }
+        if (patchedFields.getAge() != null) {
+            employee.setAge(patchedFields.getAge());
+        }
+        if (patchedFields.getGender() != null) {
+            employee.setGender(patchedFields.getGender());
+        }
+        if (patchedFields.getRole() != null) {
+            employee.setRole(patchedFields.getRole());
+        }
+        employee.setVersion(patchedFields.getVersion());
+        return put(employee);
+    }
+
+    /**
+     * Returns this snapshot when there is no Employee with the id.
+     */
+    public EmployeeColumns remove(long id) {
+
+        int segment = segmentOf(id);
+        int row = segment < 0 ? -1 : segments[segment].indexOf(id);
+        if (row < 0) {
+            return this;
+        }
+        if (segments[segment].size() > 1) {
+            EmployeeSegment removed = segments[segment].removing(row, capacity(segment, segments[segment].size() - 1));
+            return withSegment(segment, removed, genders, roles, size - 1);
+        }
+        EmployeeSegment[] remaining = new EmployeeSegment[segments.length - 1];
+        System.arraycopy(segments, 0, remaining, 0, segment);
+        System.arraycopy(segments, segment + 1, remaining, segment, segments.length - segment - 1);
+        return withSegments(remaining, genders, roles, size - 1);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // the last segment the id can be in, -1 when the id is smaller than every id
+    private int segmentOf(long id) {
+        int low = 0;
+        int high = segments.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (segments[middle].firstId() <= id) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    private boolean isLast(int index) {
+        return index == segments.length - 1;
+    }
+
+    // the last segment keeps room for the appends, the copies of the others are exactly as large as their rows
+    private int capacity(int index, int rows) {
+        return isLast(index) ? Math.max(SEGMENT_ROWS, rows) : rows;
+    }
+
+    private EmployeeColumns withSegment(int index, EmployeeSegment segment, EmployeeDictionary genderValues,
+                                        EmployeeDictionary roleValues, int newSize) {
+        EmployeeSegment[] changed = segments.clone();
+        changed[index] = segment;
+        return withSegments(changed, genderValues, roleValues, newSize);
+    }
+
+    private static EmployeeColumns withSegments(EmployeeSegment[] segments, EmployeeDictionary genderValues,
+                                                EmployeeDictionary roleValues, int size) {
+        return new EmployeeColumns(segments, genderValues, roleValues, size);
+    }
+
+    private static EmployeeSegment newSegment(Employee employee, int gender, int role) {
+        EmployeeSegment.Builder builder = new EmployeeSegment.Builder(SEGMENT_ROWS);
+        builder.add(employee, gender, role);
+        return builder.build();
+    }
+
+    /**
+     * Builds a snapshot from Employees added in the order of their ids, like a scan of the table by id.
+     */
+    public static final class Builder {
+
+        private final List<EmployeeSegment> segments = new ArrayList<>();
+
+        private EmployeeDictionary genders = EmployeeDictionary.EMPTY;
+
+        private EmployeeDictionary roles = EmployeeDictionary.EMPTY;
+
+        private EmployeeSegment.Builder current;
+
+        private long lastId;
+
+        private int size;
+
+        private Builder() {
+        }
+
+        public Builder add(Employee employee) {
+            if (size > 0 && employee.getId() <= lastId) {
+                throw new IllegalArgumentException("The Employees must be added in the order of their ids, "
+                        + employee.getId() + " after " + lastId);
+            }
+            if (current == null || current.isFull()) {
+                if (current != null) {
+                    segments.add(current.build());
+                }
+                current = new EmployeeSegment.Builder(SEGMENT_ROWS);
+            }
+            genders = genders.with(employee.getGender());
+            roles = roles.with(employee.getRole());
+            current.add(employee, genders.code(employee.getGender()), roles.code(employee.getRole()));
+            lastId = employee.getId();
+            size++;
+            return this;
+        }
+
+        public EmployeeColumns build() {
+            if (current != null) {
+                segments.add(current.build());
+                current = null;
+            }
+            return new EmployeeColumns(segments.toArray(new EmployeeSegment[0]), genders, roles, size);
+        }
+    }
+}
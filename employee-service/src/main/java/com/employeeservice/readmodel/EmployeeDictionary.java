@@ -0,0 +1,57 @@
+package com.employeeservice.readmodel;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Distinct values of a column with few of them, like the gender or the role. The rows store the int code of
+ * their value instead of a String each.
+ * <p>
+ * Immutable, adding a value returns a new dictionary and the codes of the values already in it don't change.
+ */
+final class EmployeeDictionary {
+
+    static final int NULL_CODE = -1;
+
+    static final EmployeeDictionary EMPTY = new EmployeeDictionary(new String[0], Collections.emptyMap());
+
+    private final String[] values;
+
+    private final Map<String, Integer> codes;
+
+    private EmployeeDictionary(String[] values, Map<String, Integer> codes) {
+        this.values = values;
+        this.codes = codes;
+    }
+
+    /**
+     * Returns this dictionary when it has the value already, a copy with the value added otherwise.
+     */
+    EmployeeDictionary with(String value) {
+        if (value == null || codes.containsKey(value)) {
+            return this;
+        }
+        String[] added = Arrays.copyOf(values, values.length + 1);
+        added[values.length] = value;
+        Map<String, Integer> addedCodes = new HashMap<>(codes);
+        addedCodes.put(value, values.length);
+        return new EmployeeDictionary(added, addedCodes);
+    }
+
+    /**
+     * The value must be in the dictionary, a null value has the NULL_CODE.
+     */
+    int code(String value) {
+        return value == null ? NULL_CODE : codes.get(value);
+    }
+
+    String value(int code) {
+        return code == NULL_CODE ? null : values[code];
+    }
+
+    int size() {
+        return values.length;
+    }
+}
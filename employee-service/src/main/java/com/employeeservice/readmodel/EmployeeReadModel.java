@@ -0,0 +1,174 @@
+package com.employeeservice.readmodel;
+
+import com.employeeservice.dto.EmployeeChange;
+import com.employeeservice.entity.Employee;
+import com.employeeservice.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Columnar copy of the Employee table the reads of the EmployeeService are answered from, see
+ * {@link EmployeeColumns}.
+ * <p>
+ * The current snapshot is held in a volatile field, a read takes no lock and sees every Employee as of one
+ * write. The writes still go through JPA, the EmployeeService applies each one to the model once it's
+ * committed, and every write publishes a new snapshot.
+ * <p>
+ * Like the name index, the model is built from the repository once the application is ready. Until then the
+ * reads go to the repository. The writes applied while a rebuild reads the table are applied again on top of
+ * it, a put or patch that isn't newer than the row the rebuild read is ignored.
+ * <p>
+ * The EmployeeService applies the writes of one Employee in the order they were committed, under the lock it
+ * holds around the statement, so a put can't bring back an Employee deleted after it.
+ */
+@Component
+@Slf4j
+public class EmployeeReadModel implements MeterBinder {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Value("${employee.read-model.enabled:true}")
+    boolean enabled;
+
+    private volatile EmployeeColumns columns = EmployeeColumns.EMPTY;
+
+    private volatile boolean serving;
+
+    // one rebuild at a time, the writes only wait for the swap at its end
+    private final Object rebuildLock = new Object();
+
+    // the writes applied during a rebuild, null when no rebuild is running
+    private List<EmployeeChange> rebuildChanges;
+
+    /**
+     * True once the model is built, the reads are answered from it from then on.
+     */
+    public boolean isServing() {
+        return serving;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            rebuildColumns();
+        }
+    }
+
+    public Optional<Employee> findById(Long id) {
+        return Optional.ofNullable(columns.get(id));
+    }
+
+    public Optional<Long> findVersionById(Long id) {
+        return Optional.ofNullable(columns.version(id));
+    }
+
+    public List<Employee> findAll() {
+        return columns.all();
+    }
+
+    /**
+     * Returns up to size Employees with an id larger than the given one, ordered by id.
+     */
+    public List<Employee> findAfter(Long id, int size) {
+        return columns.after(id, size);
+    }
+
+    /**
+     * Called with the created or updated Employee once the write is committed.
+     */
+    public void put(Employee employee) {
+        write(new EmployeeChange(0, EmployeeChange.Type.UPDATED, employee.getId(), employee));
+    }
+
+    /**
+     * Called with the patched fields and the version the patch gave the row once the patch is committed.
+     */
+    public void patch(Employee patchedFields) {
+        write(new EmployeeChange(0, EmployeeChange.Type.PATCHED, patchedFields.getId(), patchedFields));
+    }
+
+    public void remove(Long id) {
+        write(new EmployeeChange(0, EmployeeChange.Type.DELETED, id, null));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("employee.read.model.employees", this, model -> model.columns.size())
+                .description("Employees held by the read model")
+                .register(registry);
+        Gauge.builder("employee.read.model.bytes", this, model -> model.columns.estimatedBytes())
+                .description("Estimated heap taken by the columns of the read model")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private void rebuildColumns() {
+
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            rebuildChanges = new ArrayList<>();
+        }
+        EmployeeColumns.Builder builder = EmployeeColumns.builder();
+        Long lastId = Long.MIN_VALUE;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            page.forEach(builder::add);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+
+        synchronized (this) {
+            EmployeeColumns rebuilt = builder.build();
+            for (EmployeeChange change : rebuildChanges) {
+                rebuilt = apply(rebuilt, change);
+            }
+            columns = rebuilt;
+            rebuildChanges = null;
+            serving = true;
+        }
+        log.info("Employee read model built for {} Employees in {} ms, {} KB.", columns.size(),
+                System.currentTimeMillis() - start, columns.estimatedBytes() / 1024);
+    }
+
+    private synchronized void write(EmployeeChange change) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuildChanges != null) {
+            rebuildChanges.add(change);
+        }
+        columns = apply(columns, change);
+    }
+
+    private static EmployeeColumns apply(EmployeeColumns columns, EmployeeChange change) {
+        switch (change.getType()) {
+            case PATCHED:
+                return columns.patch(change.getEmployee());
+            case DELETED:
+                return columns.remove(change.getId());
+            default:
+                return columns.put(change.getEmployee());
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.employeeservice.readmodel;
+
+import com.employeeservice.entity.Employee;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A run of rows of the read model, ordered by id, stored column by column in primitive arrays. The gender and
+ * the role are dictionary codes, the names are UTF-8 bytes in one array per segment.
+ * <p>
+ * A segment is an immutable view of its first size rows. Changing a row copies the segment. Appending a row
+ * writes the slots after the last row of the arrays and returns a new view that includes it: the existing views
+ * never read those slots, and only the view of the last row appended can append again.
+ */
+final class EmployeeSegment {
+
+    private static final int NULL_AGE = Integer.MIN_VALUE;
+
+    // flags a null name in nameEnds, the remaining bits are the end of the name
+    private static final int NULL_NAME = 0x80000000;
+
+    private static final int AVERAGE_NAME_BYTES = 8;
+
+    private final long[] ids;
+
+    private final long[] versions;
+
+    private final int[] ages;
+
+    private final int[] genders;
+
+    private final int[] roles;
+
+    // two names per row, the first and the last, a name starts where the one before it ends
+    private final int[] nameEnds;
+
+    private final byte[] names;
+
+    private final int size;
+
+    // the rows and the name bytes written to the arrays, by any view
+    private final Appended appended;
+
+    private EmployeeSegment(long[] ids, long[] versions, int[] ages, int[] genders, int[] roles, int[] nameEnds,
+                            byte[] names, int size, Appended appended) {
+        this.ids = ids;
+        this.versions = versions;
+        this.ages = ages;
+        this.genders = genders;
+        this.roles = roles;
+        this.nameEnds = nameEnds;
+        this.names = names;
+        this.size = size;
+        this.appended = appended;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long firstId() {
+        return ids[0];
+    }
+
+    long lastId() {
+        return ids[size - 1];
+    }
+
+    long id(int row) {
+        return ids[row];
+    }
+
+    long version(int row) {
+        return versions[row];
+    }
+
+    /**
+     * Returns the row of the id, or -(insertion point) - 1 like Arrays.binarySearch when there is none.
+     */
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    Employee employee(int row, EmployeeDictionary genderValues, EmployeeDictionary roleValues) {
+        Employee employee = new Employee(ids[row], name(2 * row), name(2 * row + 1),
+                ages[row] == NULL_AGE ? null : ages[row], genderValues.value(genders[row]), roleValues.value(roles[row]));
+        employee.setVersion(versions[row]);
+        return employee;
+    }
+
+    /**
+     * Returns the view with the Employee appended, or null when the arrays are full or another view appended
+     * to them already. The id must be larger than the last one.
+     */
+    EmployeeSegment append(Employee employee, int gender, int role) {
+
+        byte[] firstName = bytes(employee.getFirstName());
+        byte[] lastName = bytes(employee.getLastName());
+        if (appended.rows != size || size == ids.length) {
+            return null;
+        }
+        byte[] target = names;
+        int nameBytes = length(firstName) + length(lastName);
+        if (appended.nameBytes + nameBytes > names.length) {
+            // a new array, the views before keep reading the old one
+            target = Arrays.copyOf(names, Math.max(names.length * 2, appended.nameBytes + nameBytes));
+        }
+        write(ids, versions, ages, genders, roles, nameEnds, target, size, appended.nameBytes, employee, gender, role,
+                firstName, lastName);
+        appended.rows = size + 1;
+        appended.nameBytes += nameBytes;
+        return new EmployeeSegment(ids, versions, ages, genders, roles, nameEnds, target, size + 1, appended);
+    }
+
+    /**
+     * Returns a copy with the row replaced by the Employee.
+     */
+    EmployeeSegment replacing(int row, Employee employee, int gender, int role, int capacity) {
+        Builder builder = new Builder(capacity, names.length);
+        builder.addRows(this, 0, row);
+        builder.add(employee, gender, role);
+        builder.addRows(this, row + 1, size);
+        return builder.build();
+    }
+
+    /**
+     * Returns a copy with the Employee inserted before the row.
+     */
+    EmployeeSegment inserting(int row, Employee employee, int gender, int role, int capacity) {
+        Builder builder = new Builder(capacity, names.length + AVERAGE_NAME_BYTES * 2);
+        builder.addRows(this, 0, row);
+        builder.add(employee, gender, role);
+        builder.addRows(this, row, size);
+        return builder.build();
+    }
+
+    /**
+     * Returns a copy without the row.
+     */
+    EmployeeSegment removing(int row, int capacity) {
+        Builder builder = new Builder(capacity, names.length);
+        builder.addRows(this, 0, row);
+        builder.addRows(this, row + 1, size);
+        return builder.build();
+    }
+
+    /**
+     * Returns the first half and the second half of the rows as segments of their own.
+     */
+    EmployeeSegment[] split(int secondCapacity) {
+        int half = size / 2;
+        Builder first = new Builder(half, names.length);
+        first.addRows(this, 0, half);
+        Builder second = new Builder(Math.max(secondCapacity, size - half), names.length);
+        second.addRows(this, half, size);
+        return new EmployeeSegment[]{first.build(), second.build()};
+    }
+
+    /**
+     * Bytes taken by the arrays of the segment, including the free slots.
+     */
+    long estimatedBytes() {
+        return 2 * arrayBytes(ids.length, 8) + 3 * arrayBytes(ages.length, 4) + arrayBytes(nameEnds.length, 4)
+                + arrayBytes(names.length, 1) + 48;
+    }
+
+    private String name(int index) {
+        int end = nameEnds[index];
+        if ((end & NULL_NAME) != 0) {
+            return null;
+        }
+        int start = index == 0 ? 0 : nameEnds[index - 1] & ~NULL_NAME;
+        return new String(names, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static void write(long[] ids, long[] versions, int[] ages, int[] genders, int[] roles, int[] nameEnds,
+                              byte[] names, int row, int nameStart, Employee employee, int gender, int role,
+                              byte[] firstName, byte[] lastName) {
+        ids[row] = employee.getId();
+        versions[row] = employee.getVersion();
+        ages[row] = employee.getAge() == null ? NULL_AGE : employee.getAge();
+        genders[row] = gender;
+        roles[row] = role;
+        int end = writeName(names, nameStart, firstName);
+        nameEnds[2 * row] = firstName == null ? end | NULL_NAME : end;
+        end = writeName(names, end, lastName);
+        nameEnds[2 * row + 1] = lastName == null ? end | NULL_NAME : end;
+    }
+
+    private static int writeName(byte[] names, int start, byte[] name) {
+        if (name == null) {
+            return start;
+        }
+        System.arraycopy(name, 0, names, start, name.length);
+        return start + name.length;
+    }
+
+    private static byte[] bytes(String name) {
+        return name == null ? null : name.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] name) {
+        return name == null ? 0 : name.length;
+    }
+
+    // array header included, rounded up to 8 bytes
+    private static long arrayBytes(int length, int elementBytes) {
+        return (16 + (long) length * elementBytes + 7) & ~7L;
+    }
+
+    private static final class Appended {
+
+        private int rows;
+
+        private int nameBytes;
+    }
+
+    /**
+     * Builds a segment from rows added in the order of their ids.
+     */
+    static final class Builder {
+
+        private final long[] ids;
+
+        private final long[] versions;
+
+        private final int[] ages;
+
+        private final int[] genders;
+
+        private final int[] roles;
+
+        private final int[] nameEnds;
+
+        private byte[] names;
+
+        private int size;
+
+        private int nameBytes;
+
+        Builder(int capacity) {
+            this(capacity, capacity * AVERAGE_NAME_BYTES * 2);
+        }
+
+        private Builder(int capacity, int nameCapacity) {
+            this.ids = new long[capacity];
+            this.versions = new long[capacity];
+            this.ages = new int[capacity];
+            this.genders = new int[capacity];
+            this.roles = new int[capacity];
+            this.nameEnds = new int[capacity * 2];
+            this.names = new byte[Math.max(nameCapacity, 16)];
+        }
+
+        boolean isFull() {
+            return size == ids.length;
+        }
+
+        void add(Employee employee, int gender, int role) {
+            if (size > 0 && employee.getId() <= ids[size - 1]) {
+                throw new IllegalArgumentException("The Employees must be added in the order of their ids, "
+                        + employee.getId() + " after " + ids[size - 1]);
+            }
+            byte[] firstName = bytes(employee.getFirstName());
+            byte[] lastName = bytes(employee.getLastName());
+            ensureNameCapacity(length(firstName) + length(lastName));
+            write(ids, versions, ages, genders, roles, nameEnds, names, size, nameBytes, employee, gender, role,
+                    firstName, lastName);
+            nameBytes = nameEnds[2 * size + 1] & ~NULL_NAME;
+            size++;
+        }
+
+        /**
+         * Copies the rows from the start row to the end row, exclusive, as they are, names included.
+         */
+        void addRows(EmployeeSegment from, int startRow, int endRow) {
+            for (int row = startRow; row < endRow; row++) {
+                ids[size] = from.ids[row];
+                versions[size] = from.versions[row];
+                ages[size] = from.ages[row];
+                genders[size] = from.genders[row];
+                roles[size] = from.roles[row];
+                int start = row == 0 ? 0 : from.nameEnds[2 * row - 1] & ~NULL_NAME;
+                int end = from.nameEnds[2 * row + 1] & ~NULL_NAME;
+                ensureNameCapacity(end - start);
+                System.arraycopy(from.names, start, names, nameBytes, end - start);
+                int shift = nameBytes - start;
+                nameEnds[2 * size] = shifted(from.nameEnds[2 * row], shift);
+                nameEnds[2 * size + 1] = shifted(from.nameEnds[2 * row + 1], shift);
+                nameBytes += end - start;
+                size++;
+            }
+        }
+
+        EmployeeSegment build() {
+            Appended appended = new Appended();
+            appended.rows = size;
+            appended.nameBytes = nameBytes;
+            return new EmployeeSegment(ids, versions, ages, genders, roles, nameEnds, names, size, appended);
+        }
+
+        private void ensureNameCapacity(int bytes) {
+            if (nameBytes + bytes > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, nameBytes + bytes));
+            }
+        }
+
+        private static int shifted(int nameEnd, int shift) {
+            return ((nameEnd & ~NULL_NAME) + shift) | (nameEnd & NULL_NAME);
+        }
+    }
+}
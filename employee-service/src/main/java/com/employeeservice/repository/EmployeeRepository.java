@@ -1,13 +1,55 @@
 package com.employeeservice.repository;
 
 import com.employeeservice.entity.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EmployeeRepository extends CrudRepository<Employee, Long> {
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+public interface EmployeeRepository extends CrudRepository<Employee, Long>, EmployeeRepositoryCustom {
 
     @Query("select m from Employee m where m.firstName like %?1% or m.lastName like %?1%")
     List<Employee> findByEmployeeName(String name);
+
+    @Query("select m.version from Employee m where m.id = ?1")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Deletes the Employee in a single statement and returns the number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("delete from Employee m where m.id = ?1")
+    int deleteEmployeeById(Long id);
+
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Keyset page of findByEmployeeName, the Employees with an id larger than the given one ordered by id.
+     */
+    @Query("select m from Employee m where (m.firstName like %?1% or m.lastName like %?1%) and m.id > ?2 order by m.id")
+    List<Employee> findByEmployeeNameAfter(String name, Long id, Pageable pageable);
+
+    /**
+     * Cursor backed variant of findAll, must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select m from Employee m")
+    Stream<Employee> streamAll();
+
+    /**
+     * Cursor backed variant of findByEmployeeName, must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select m from Employee m where m.firstName like %?1% or m.lastName like %?1%")
+    Stream<Employee> streamByEmployeeName(String name);
 }
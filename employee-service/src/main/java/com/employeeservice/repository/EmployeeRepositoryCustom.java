@@ -0,0 +1,30 @@
+package com.employeeservice.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface EmployeeRepositoryCustom {
+
+    /**
+     * Updates only the given attributes of the Employee and bumps its version in a single update statement.
+     * Returns the version the row got, empty when there is no Employee for the id.
+     */
+    Optional<Long> patchById(Long id, Map<String, Object> attributes);
+
+    /**
+     * Selects only the given attributes of every Employee, each row maps the attribute names to their values.
+     */
+    List<Map<String, Object>> findAllAttributes(List<String> attributes);
+
+    /**
+     * Selects only the given attributes of the Employees with the given ids.
+     */
+    List<Map<String, Object>> findAttributesByIds(Collection<Long> ids, List<String> attributes);
+
+    /**
+     * Selects only the given attributes of the Employees whose first or last name contains the name.
+     */
+    List<Map<String, Object>> findAttributesByEmployeeName(String name, List<String> attributes);
+}
@@ -0,0 +1,94 @@
+package com.employeeservice.repository;
+
+import com.employeeservice.entity.Employee;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+@Transactional
+public class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    public Optional<Long> patchById(Long id, Map<String, Object> attributes) {
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = criteriaBuilder.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+        attributes.forEach((attribute, value) -> update.set(attribute, value));
+        Path<Long> version = employee.get("version");
+        update.set(version, criteriaBuilder.sum(version, 1L));
+        update.where(criteriaBuilder.equal(employee.get("id"), id));
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            return Optional.empty();
+        }
+        // read in the same transaction, no other write can have changed the row since
+        return Optional.of(entityManager.createQuery("select m.version from Employee m where m.id = :id", Long.class)
+                .setParameter("id", id)
+                .getSingleResult());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAllAttributes(List<String> attributes) {
+        return findAttributes(attributes, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAttributesByIds(Collection<Long> ids, List<String> attributes) {
+        return findAttributes(attributes, (criteriaBuilder, employee) -> employee.get("id").in(ids));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> findAttributesByEmployeeName(String name, List<String> attributes) {
+        String pattern = "%" + name + "%";
+        return findAttributes(attributes, (criteriaBuilder, employee) -> criteriaBuilder.or(
+                criteriaBuilder.like(employee.<String>get("firstName"), pattern),
+                criteriaBuilder.like(employee.<String>get("lastName"), pattern)));
+    }
+
+    private List<Map<String, Object>> findAttributes(List<String> attributes,
+                                                     BiFunction<CriteriaBuilder, Root<Employee>, Predicate> where) {
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        List<Selection<?>> selections = new ArrayList<>();
+        for (String attribute : attributes) {
+            selections.add(employee.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+        if (where != null) {
+            query.where(where.apply(criteriaBuilder, employee));
+        }
+        query.orderBy(criteriaBuilder.asc(employee.get("id")));
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(tuple -> {
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    attributes.forEach(attribute -> row.put(attribute, tuple.get(attribute)));
+                    return row;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,91 @@
+package com.employeeservice.service;
+
+import com.employeeservice.constants.EmployeeConstants;
+import com.employeeservice.dto.BulkEmployeeResponse;
+import com.employeeservice.dto.BulkEmployeeResult;
+import com.employeeservice.entity.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Adds many Employees in one transaction. Inserts are sent to the DB in JDBC batches and the ids come
+ * from the pooled employee_seq, so the DB is hit once per batch instead of once per Employee.
+ */
+@Service
+@Slf4j
+public class EmployeeBulkService {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Autowired
+    Validator validator;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    int batchSize;
+
+    @Transactional
+    public BulkEmployeeResponse addEmployees(List<Employee> employees) {
+
+        List<BulkEmployeeResult> results = new ArrayList<>(employees.size());
+        List<Employee> pending = new ArrayList<>(batchSize);
+        int created = 0;
+        for (int index = 0; index < employees.size(); index++) {
+            Employee employee = employees.get(index);
+            String error = validate(employee);
+            if (error != null) {
+                results.add(new BulkEmployeeResult(index, null, error));
+                continue;
+            }
+            // the bulk endpoint only inserts, ids are always assigned by the sequence
+            employee.setId(null);
+            entityManager.persist(employee);
+            results.add(new BulkEmployeeResult(index, employee.getId(), null));
+            pending.add(employee);
+            created++;
+            if (pending.size() == batchSize) {
+                flush(pending);
+            }
+        }
+        flush(pending);
+        log.info("Bulk request added {} Employees and rejected {}.", created, employees.size() - created);
+        return new BulkEmployeeResponse(created, employees.size() - created, results);
+    }
+
+    /**
+     * Returns the validation error message for the Employee, null when it's valid.
+     */
+    public String validate(Employee employee) {
+        if (employee == null) {
+            return EmployeeConstants.ERROR_MESSAGE + "[firstName, gender, lastName, role]";
+        }
+        Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        List<String> errorFields = violations.stream()
+                .map(violation -> violation.getPropertyPath().toString())
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+        return EmployeeConstants.ERROR_MESSAGE + errorFields;
+    }
+
+    private void flush(List<Employee> pending) {
+        entityManager.flush();
+        entityManager.clear();
+        pending.clear();
+    }
+}
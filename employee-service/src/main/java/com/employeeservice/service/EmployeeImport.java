@@ -0,0 +1,128 @@
+package com.employeeservice.service;
+
+import com.employeeservice.dto.BulkEmployeeResponse;
+import com.employeeservice.dto.BulkEmployeeResult;
+import com.employeeservice.dto.EmployeeImportError;
+import com.employeeservice.dto.EmployeeImportResponse;
+import com.employeeservice.entity.Employee;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.employeeservice.constants.EmployeeConstants.IMPORT_CHUNK_FAILED_MESSAGE;
+import static com.employeeservice.constants.EmployeeConstants.INVALID_JSON_MESSAGE;
+
+/**
+ * A single import in progress, fed one line of the request body at a time. Not thread safe, the lines of an
+ * import are passed in order by one thread at a time.
+ */
+@Slf4j
+public class EmployeeImport {
+
+    private final EmployeeService employeeService;
+
+    private final ObjectReader employeeReader;
+
+    private final int chunkSize;
+
+    private final int maxErrors;
+
+    private final List<Employee> chunk;
+
+    private final long[] chunkLines;
+
+    private final List<EmployeeImportError> errors = new ArrayList<>();
+
+    private long lines;
+
+    private long created;
+
+    private long failed;
+
+    private long errorsOmitted;
+
+    private int chunks;
+
+    EmployeeImport(EmployeeService employeeService, ObjectReader employeeReader, int chunkSize, int maxErrors) {
+        this.employeeService = employeeService;
+        this.employeeReader = employeeReader;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.chunk = new ArrayList<>(chunkSize);
+        this.chunkLines = new long[chunkSize];
+    }
+
+    /**
+     * Parses the line as an Employee and commits the chunk once it's full. Blank lines are skipped.
+     */
+    public void line(String json) {
+
+        long line = ++lines;
+        if (json.trim().isEmpty()) {
+            return;
+        }
+        Employee employee;
+        try {
+            employee = employeeReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            reject(line, INVALID_JSON_MESSAGE + e.getOriginalMessage());
+            return;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        chunkLines[chunk.size()] = line;
+        chunk.add(employee);
+        if (chunk.size() == chunkSize) {
+            commit();
+        }
+    }
+
+    /**
+     * Commits the last chunk and returns the summary of the import.
+     */
+    public EmployeeImportResponse finish() {
+        commit();
+        log.info("Import of {} lines added {} Employees in {} chunks and rejected {} lines.", lines, created, chunks, failed);
+        return new EmployeeImportResponse(created, failed, chunks, errors, errorsOmitted);
+    }
+
+    private void commit() {
+
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            // validated and inserted in JDBC batches in a transaction of its own
+            BulkEmployeeResponse response = employeeService.createAll(chunk);
+            created += response.getCreated();
+            chunks++;
+            for (BulkEmployeeResult result : response.getResults()) {
+                if (result.getError() != null) {
+                    reject(chunkLines[result.getIndex()], result.getError());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Committing the chunk of the lines {} to {} failed.", chunkLines[0], chunkLines[chunk.size() - 1], e);
+            for (int index = 0; index < chunk.size(); index++) {
+                reject(chunkLines[index], IMPORT_CHUNK_FAILED_MESSAGE + chunkLines[0]);
+            }
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    // only the first maxErrors errors are kept, an import of bad lines can't fill up the heap
+    private void reject(long line, String error) {
+        failed++;
+        if (errors.size() < maxErrors) {
+            errors.add(new EmployeeImportError(line, error));
+        } else {
+            errorsOmitted++;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.employeeservice.service;
+
+import com.employeeservice.dto.EmployeeImportResponse;
+import com.employeeservice.entity.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Imports Employees from newline delimited JSON, one Employee per line, committed in chunks of
+ * employee.import.chunk-size. The body is read while it arrives and only one chunk is held at a time, so an
+ * import can be of any size. A line that isn't a valid Employee is reported with its line number and the
+ * import goes on.
+ */
+@Service
+public class EmployeeImportService {
+
+    @Autowired
+    EmployeeService employeeService;
+
+    private final ObjectReader employeeReader;
+
+    @Value("${employee.import.chunk-size:1000}")
+    int chunkSize;
+
+    @Value("${employee.import.max-errors:1000}")
+    int maxErrors;
+
+    @Value("${employee.bulk.max-size:10000}")
+    int maxBulkSize;
+
+    public EmployeeImportService(ObjectMapper objectMapper) {
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    /**
+     * Starts an import the lines are passed to one at a time.
+     */
+    public EmployeeImport begin() {
+        // a chunk is committed as one bulk request, it can't be larger than one
+        return new EmployeeImport(employeeService, employeeReader, Math.max(1, Math.min(chunkSize, maxBulkSize)), maxErrors);
+    }
+
+    public EmployeeImportResponse importNdjson(InputStream body) throws IOException {
+
+        EmployeeImport employeeImport = begin();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            employeeImport.line(line);
+        }
+        return employeeImport.finish();
+    }
+}
@@ -0,0 +1,458 @@
+package com.employeeservice.service;
+
+import com.employeeservice.cache.EmployeeJsonCache;
+import com.employeeservice.cache.EmployeeJsonCache.VersionedJson;
+import com.employeeservice.coalesce.EmployeeReadCoalescer;
+import com.employeeservice.dto.BulkEmployeeResponse;
+import com.employeeservice.dto.EmployeeChange;
+import com.employeeservice.dto.EmployeePage;
+import com.employeeservice.dto.EmployeeStats;
+import com.employeeservice.entity.Employee;
+import com.employeeservice.feed.EmployeeChangeFeed;
+import com.employeeservice.index.EmployeeNameIndex;
+import com.employeeservice.readmodel.EmployeeReadModel;
+import com.employeeservice.repository.EmployeeRepository;
+import com.employeeservice.stats.EmployeeStatistics;
+import com.employeeservice.version.EmployeeTableVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.employeeservice.constants.EmployeeConstants.*;
+
+/**
+ * Reads and writes of the Employees shared by the servlet controller and the reactive handlers.
+ * Every write keeps the name index, the JSON cache, the statistics and the table version up to date and is
+ * published to the change feed. Identical reads by id and by name that run at the same time share one
+ * repository call.
+ * <p>
+ * Once the read model is built, the reads of whole Employees are answered from it and every write is applied to
+ * it before the table version changes. The projections of some fields and the streams still read the table.
+ * <p>
+ * An update, patch or delete holds the lock of its Employee from the statement to the publish on the change
+ * feed, so the writes of one Employee reach the feed, the read model and the statistics in the order they were
+ * committed. Writes of different Employees don't wait for each other beyond a shared stripe.
+ */
+@Service
+@Slf4j
+public class EmployeeService {
+
+    private static final List<String> FIELDS = Arrays.asList("id", "firstName", "lastName", "age", "gender", "role");
+
+    private static final int WRITE_LOCK_STRIPES = 64;
+
+    private final Object[] writeLocks = Stream.generate(Object::new).limit(WRITE_LOCK_STRIPES).toArray();
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    EmployeeBulkService employeeBulkService;
+
+    @Autowired
+    EmployeeNameIndex employeeNameIndex;
+
+    @Autowired
+    EmployeeTableVersion employeeTableVersion;
+
+    @Autowired
+    EmployeeJsonCache employeeJsonCache;
+
+    @Autowired
+    EmployeeStatistics employeeStatistics;
+
+    @Autowired
+    EmployeeChangeFeed employeeChangeFeed;
+
+    @Autowired
+    EmployeeReadCoalescer employeeReadCoalescer;
+
+    @Autowired
+    EmployeeReadModel employeeReadModel;
+
+    @Value("${employee.page.default-size:100}")
+    int defaultPageSize;
+
+    @Value("${employee.page.max-size:1000}")
+    int maxPageSize;
+
+    @Value("${employee.bulk.max-size:10000}")
+    int maxBulkSize;
+
+    public List<Employee> findAll() {
+        if (employeeReadModel.isServing()) {
+            return employeeReadModel.findAll();
+        }
+        List<Employee> employees = new ArrayList<>();
+        employeeRepository.findAll()
+                .forEach(employees::add);
+        return employees;
+    }
+
+    public EmployeePage findPage(String cursor, Integer size) {
+
+        int pageSize = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+        Long lastId = decodeCursor(cursor);
+        log.info("Recieved request for retrieving {} Employees after the Employee Id - {}", pageSize, lastId);
+
+        // one extra row tells whether another page exists without issuing a count query
+        List<Employee> employees = employeeReadModel.isServing()
+                ? employeeReadModel.findAfter(lastId, pageSize + 1)
+                : employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, pageSize + 1));
+        if (employees.size() > pageSize) {
+            employees = employees.subList(0, pageSize);
+            return new EmployeePage(employees, encodeCursor(employees.get(pageSize - 1).getId()));
+        }
+        return new EmployeePage(employees, null);
+    }
+
+    public Optional<Employee> findById(Long id) {
+        if (employeeReadModel.isServing()) {
+            return employeeReadModel.findById(id);
+        }
+        return employeeReadCoalescer.byId(id, () -> employeeRepository.findById(id));
+    }
+
+    public Optional<Long> findVersionById(Long id) {
+        if (employeeReadModel.isServing()) {
+            return employeeReadModel.findVersionById(id);
+        }
+        return employeeReadCoalescer.versionById(id, () -> employeeRepository.findVersionById(id));
+    }
+
+    /**
+     * Returns the JSON of the Employee, the Employee is only loaded and serialized when the given version
+     * isn't cached. A write can land between the read of the version and the load, the JSON carries the
+     * version it was serialized from and the ETag has to be computed from that one.
+     */
+    public Optional<VersionedJson> findJsonById(Long id, long version) {
+
+        byte[] json = employeeJsonCache.get(id, version);
+        if (json != null) {
+            return Optional.of(new VersionedJson(version, json));
+        }
+        if (employeeReadModel.isServing()) {
+            return employeeReadModel.findById(id).map(this::versionedJson);
+        }
+        return employeeReadCoalescer.jsonById(id, () -> employeeRepository.findById(id).map(this::versionedJson));
+    }
+
+    /**
+     * Answers the name search from the trigram index when possible and verifies the candidates against the
+     * loaded Employees, so the result is the same as the like query of the repository.
+     */
+    public List<Employee> searchByName(String name) {
+        return employeeReadCoalescer.byName(name, () -> searchByNameUncoalesced(name));
+    }
+
+    /**
+     * Returns up to size Employees matching the name with an id larger than the given one, ordered by id, so a
+     * large result can be read page by page.
+     */
+    public List<Employee> searchByNamePage(String name, Long afterId, int size) {
+        return employeeRepository.findByEmployeeNameAfter(name, afterId, PageRequest.of(0, size));
+    }
+
+    private List<Employee> searchByNameUncoalesced(String name) {
+
+        if (!employeeNameIndex.supports(name)) {
+            return employeeRepository.findByEmployeeName(name);
+        }
+        Set<Long> candidates = employeeNameIndex.candidates(name);
+        List<Employee> employees = new ArrayList<>();
+        if (employeeReadModel.isServing()) {
+            candidates.forEach(id -> employeeReadModel.findById(id).ifPresent(employee -> {
+                if (containsName(employee.getFirstName(), name) || containsName(employee.getLastName(), name)) {
+                    employees.add(employee);
+                }
+            }));
+        } else if (!candidates.isEmpty()) {
+            employeeRepository.findAllById(candidates).forEach(employee -> {
+                if (containsName(employee.getFirstName(), name) || containsName(employee.getLastName(), name)) {
+                    employees.add(employee);
+                }
+            });
+        }
+        return employees;
+    }
+
+    /**
+     * Parses a comma separated list of Employee fields, null when all the fields are wanted.
+     */
+    public List<String> parseFields(String fields) {
+
+        if (StringUtils.isEmpty(fields)) {
+            return null;
+        }
+        LinkedHashSet<String> parsed = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String trimmed = field.trim();
+            if (!FIELDS.contains(trimmed)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID_FIELDS_MESSAGE);
+            }
+            parsed.add(trimmed);
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    public List<Map<String, Object>> findAll(List<String> fields) {
+        return employeeRepository.findAllAttributes(fields);
+    }
+
+    public Optional<Map<String, Object>> findById(Long id, List<String> fields) {
+        List<Map<String, Object>> employees = employeeRepository.findAttributesByIds(Collections.singleton(id), fields);
+        return employees.isEmpty() ? Optional.empty() : Optional.of(employees.get(0));
+    }
+
+    /**
+     * Same search as {@link #searchByName(String)}, selecting only the given fields.
+     */
+    public List<Map<String, Object>> searchByName(String name, List<String> fields) {
+
+        if (!employeeNameIndex.supports(name)) {
+            return employeeRepository.findAttributesByEmployeeName(name, fields);
+        }
+        Set<Long> candidates = employeeNameIndex.candidates(name);
+        if (candidates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // the names are needed to verify the candidates, they are dropped again when they weren't asked for
+        LinkedHashSet<String> attributes = new LinkedHashSet<>(fields);
+        attributes.add("firstName");
+        attributes.add("lastName");
+        List<Map<String, Object>> employees = new ArrayList<>();
+        for (Map<String, Object> employee : employeeRepository.findAttributesByIds(candidates, new ArrayList<>(attributes))) {
+            if (containsName((String) employee.get("firstName"), name) || containsName((String) employee.get("lastName"), name)) {
+                employee.keySet().retainAll(fields);
+                employees.add(employee);
+            }
+        }
+        return employees;
+    }
+
+    /**
+     * Returns the validation error message for the Employee, null when it's valid.
+     */
+    public String validate(Employee employee) {
+        return employeeBulkService.validate(employee);
+    }
+
+    public Employee create(Employee employee) {
+        Employee addedEmployee = employeeRepository.save(employee);
+        employeeNameIndex.index(addedEmployee);
+        employeeJsonCache.evict(addedEmployee.getId());
+        employeeReadCoalescer.written(addedEmployee.getId());
+        employeeStatistics.record(addedEmployee);
+        employeeReadModel.put(addedEmployee);
+        employeeTableVersion.increment();
+        employeeChangeFeed.created(addedEmployee);
+        return addedEmployee;
+    }
+
+    public BulkEmployeeResponse createAll(List<Employee> employees) {
+
+        if (employees.size() > maxBulkSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, BULK_SIZE_EXCEEDED_MESSAGE + maxBulkSize);
+        }
+        BulkEmployeeResponse response = employeeBulkService.addEmployees(employees);
+        List<Employee> addedEmployees = response.getResults().stream()
+                .filter(result -> result.getId() != null)
+                .map(result -> employees.get(result.getIndex()))
+                .collect(Collectors.toList());
+        addedEmployees.forEach(employee -> {
+            employeeNameIndex.index(employee);
+            employeeReadCoalescer.written(employee.getId());
+            employeeStatistics.record(employee);
+            employeeReadModel.put(employee);
+        });
+        employeeTableVersion.increment();
+        addedEmployees.forEach(employeeChangeFeed::created);
+        return response;
+    }
+
+    public Optional<Employee> update(Long id, Employee updateEmployee) {
+
+        synchronized (writeLock(id)) {
+            Optional<Employee> employeeOptional = employeeRepository.findById(id);
+            if (!employeeOptional.isPresent()) {
+                return Optional.empty();
+            }
+            Employee employeeToUpdate = employeeOptional.get();
+            createEmployeeEntity(employeeToUpdate, updateEmployee);
+            Employee updatedEmployee = employeeRepository.save(employeeToUpdate);
+            employeeNameIndex.index(updatedEmployee);
+            employeeJsonCache.evict(id);
+            employeeReadCoalescer.written(id);
+            employeeStatistics.record(updatedEmployee);
+            employeeReadModel.put(updatedEmployee);
+            employeeTableVersion.increment();
+            employeeChangeFeed.updated(updatedEmployee);
+            return Optional.of(updatedEmployee);
+        }
+    }
+
+    /**
+     * Updates the non blank fields of the patch with a single update statement.
+     * Returns false when there is no Employee for the id.
+     */
+    public boolean patch(Long id, Employee patchEmployee) {
+
+        Map<String, Object> attributes = patchAttributes(patchEmployee);
+        if (attributes.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, NO_FIELDS_TO_PATCH_MESSAGE);
+        }
+        synchronized (writeLock(id)) {
+            // the version is only returned when the Employee exists
+            Optional<Long> version = employeeRepository.patchById(id, attributes);
+            if (!version.isPresent()) {
+                return false;
+            }
+            if (attributes.containsKey("firstName") || attributes.containsKey("lastName")) {
+                employeeNameIndex.index(id, (String) attributes.get("firstName"), (String) attributes.get("lastName"));
+            }
+            employeeJsonCache.evict(id);
+            employeeReadCoalescer.written(id);
+            employeeStatistics.patch(id, version.get(), (String) attributes.get("role"), (String) attributes.get("gender"), (Integer) attributes.get("age"));
+            Employee patchedFields = new Employee(id, (String) attributes.get("firstName"), (String) attributes.get("lastName"),
+                    (Integer) attributes.get("age"), (String) attributes.get("gender"), (String) attributes.get("role"));
+            patchedFields.setVersion(version.get());
+            employeeReadModel.patch(patchedFields);
+            employeeTableVersion.increment();
+            employeeChangeFeed.patched(id, patchedFields);
+            return true;
+        }
+    }
+
+    /**
+     * Deletes the Employee with a single delete statement. Returns false when there is no Employee for the id.
+     */
+    public boolean delete(Long id) {
+
+        synchronized (writeLock(id)) {
+            if (employeeRepository.deleteEmployeeById(id) == 0) {
+                return false;
+            }
+            employeeNameIndex.remove(id);
+            employeeJsonCache.evict(id);
+            employeeReadCoalescer.written(id);
+            employeeStatistics.remove(id);
+            employeeReadModel.remove(id);
+            employeeTableVersion.increment();
+            employeeChangeFeed.deleted(id);
+            return true;
+        }
+    }
+
+    public boolean changesRetained(Long since) {
+        return employeeChangeFeed.isRetained(since);
+    }
+
+    public Flux<ServerSentEvent<EmployeeChange>> changes(Long since) {
+        return employeeChangeFeed.changes(since);
+    }
+
+    /**
+     * Answered from the counters of the statistics, the table isn't read.
+     */
+    public EmployeeStats stats() {
+        return employeeStatistics.snapshot();
+    }
+
+    public String collectionETag() {
+        return employeeTableVersion.eTag();
+    }
+
+    public String employeeETag(Long id, long version) {
+        return EmployeeTableVersion.eTag(id, version);
+    }
+
+    public void createEmployeeEntity(Employee employeeToUpdate, Employee updateEmployee) {
+        if (checkEmptyNullString(updateEmployee.getFirstName()) && !updateEmployee.getFirstName().equals(employeeToUpdate.getFirstName())) {
+            employeeToUpdate.setFirstName(updateEmployee.getFirstName());
+        }
+        if (checkEmptyNullString(updateEmployee.getLastName()) && !updateEmployee.getLastName().equals(employeeToUpdate.getLastName())) {
+            employeeToUpdate.setLastName(updateEmployee.getLastName());
+        }
+        if(updateEmployee!=null && updateEmployee.getAge()!=employeeToUpdate.getAge()){
+            employeeToUpdate.setAge(updateEmployee.getAge());
+        }
+        if (checkEmptyNullString(updateEmployee.getGender()) && !updateEmployee.getGender().equals(employeeToUpdate.getGender())) {
+            employeeToUpdate.setGender(updateEmployee.getGender());
+        }
+        if (checkEmptyNullString(updateEmployee.getRole()) && !updateEmployee.getRole().equals(employeeToUpdate.getRole())) {
+            employeeToUpdate.setRole(updateEmployee.getRole());
+        }
+    }
+
+    private Object writeLock(Long id) {
+        return writeLocks[Math.floorMod(id.hashCode(), WRITE_LOCK_STRIPES)];
+    }
+
+    private Map<String, Object> patchAttributes(Employee patchEmployee) {
+        Map<String, Object> attributes = new HashMap<>();
+        if (checkEmptyNullString(patchEmployee.getFirstName())) {
+            attributes.put("firstName", patchEmployee.getFirstName());
+        }
+        if (checkEmptyNullString(patchEmployee.getLastName())) {
+            attributes.put("lastName", patchEmployee.getLastName());
+        }
+        if (patchEmployee.getAge() != null) {
+            attributes.put("age", patchEmployee.getAge());
+        }
+        if (checkEmptyNullString(patchEmployee.getGender())) {
+            attributes.put("gender", patchEmployee.getGender());
+        }
+        if (checkEmptyNullString(patchEmployee.getRole())) {
+            attributes.put("role", patchEmployee.getRole());
+        }
+        return attributes;
+    }
+
+    private VersionedJson versionedJson(Employee employee) {
+        return new VersionedJson(employee.getVersion(), employeeJsonCache.put(employee));
+    }
+
+    private boolean containsName(String value, String name) {
+        return value != null && value.contains(name);
+    }
+
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (StringUtils.isEmpty(cursor)) {
+            return Long.MIN_VALUE;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, INVALID_CURSOR_MESSAGE + cursor);
+        }
+    }
+
+    private boolean checkEmptyNullString(String input) {
+        return !StringUtils.isEmpty(input) && !StringUtils.isEmpty(input.trim());
+    }
+}
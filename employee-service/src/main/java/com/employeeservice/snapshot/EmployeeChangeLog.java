@@ -0,0 +1,203 @@
+package com.employeeservice.snapshot;
+
+import com.employeeservice.dto.EmployeeChange;
+import com.employeeservice.entity.Employee;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append only log of the changes to the Employees, in numbered segments next to the snapshot.
+ * <p>
+ * Every change is one record with its length and CRC, written through to the operating system before append
+ * returns. The EmployeeSnapshotStore appends on its own thread after the write is committed, so a crash of the
+ * process can lose the last committed changes that were still queued. A record torn by the crash fails its CRC
+ * and ends the replay of its segment. A patch is logged with the version it gave the row, so replaying it
+ * twice leaves the same version. Taking a snapshot rotates to a new segment, the segments before it are
+ * deleted once the snapshot is written.
+ */
+@Slf4j
+public class EmployeeChangeLog implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("changes-(\\d+)\\.log");
+
+    // far more than an Employee takes, a longer length is a torn record
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private static final byte UPSERT = 1;
+
+    private static final byte PATCH = 2;
+
+    private static final byte DELETE = 3;
+
+    private final Path directory;
+
+    private long segment;
+
+    private FileOutputStream fileOutput;
+
+    private DataOutputStream out;
+
+    /**
+     * Opens a new segment after the existing ones, they are left for the replay.
+     */
+    public EmployeeChangeLog(Path directory) throws IOException {
+        this.directory = directory;
+        List<Path> segments = segments(directory);
+        this.segment = segments.isEmpty() ? 1 : segmentNumber(segments.get(segments.size() - 1)) + 1;
+        open();
+    }
+
+    public synchronized long getSegment() {
+        return segment;
+    }
+
+    public synchronized void append(EmployeeChange change) throws IOException {
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream(64);
+        DataOutputStream recordOut = new DataOutputStream(record);
+        switch (change.getType()) {
+            case CREATED:
+            case UPDATED:
+                recordOut.writeByte(UPSERT);
+                EmployeeRecords.write(recordOut, change.getEmployee());
+                break;
+            case PATCHED:
+                recordOut.writeByte(PATCH);
+                EmployeeRecords.write(recordOut, change.getEmployee());
+                break;
+            case DELETED:
+                recordOut.writeByte(DELETE);
+                recordOut.writeLong(change.getId());
+                break;
+            default:
+                return;
+        }
+        byte[] bytes = record.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        out.writeInt(bytes.length);
+        out.writeInt((int) crc.getValue());
+        out.write(bytes);
+        out.flush();
+    }
+
+    /**
+     * Syncs and closes the current segment and opens the next one. Returns the number of the new segment.
+     */
+    public synchronized long rotate() throws IOException {
+        closeSegment();
+        segment++;
+        open();
+        return segment;
+    }
+
+    public synchronized void deleteSegmentsBefore(long firstKept) throws IOException {
+        for (Path path : segments(directory)) {
+            if (segmentNumber(path) < firstKept) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closeSegment();
+    }
+
+    /**
+     * Returns the segments in the directory, oldest first.
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted((first, second) -> Long.compare(segmentNumber(first), segmentNumber(second)))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    public static long segmentNumber(Path segment) {
+        Matcher matcher = SEGMENT_NAME.matcher(segment.getFileName().toString());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Not a change log segment - " + segment);
+        }
+        return Long.parseLong(matcher.group(1));
+    }
+
+    /**
+     * Passes the changes of the segment to the consumer in the order they were appended, as UPDATED, PATCHED
+     * and DELETED changes without a sequence. Returns the number of changes replayed.
+     */
+    public static int replay(Path segment, Consumer<EmployeeChange> consumer) throws IOException {
+
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment), 1 << 16))) {
+            while (true) {
+                byte[] bytes;
+                int crc;
+                try {
+                    int length = in.readInt();
+                    crc = in.readInt();
+                    if (length < 0 || length > MAX_RECORD_SIZE) {
+                        log.warn("Torn record after {} changes in {}, the rest of the segment is skipped.", replayed, segment);
+                        return replayed;
+                    }
+                    bytes = new byte[length];
+                    in.readFully(bytes);
+                } catch (EOFException e) {
+                    // the end of the segment, or a record the crash cut short
+                    return replayed;
+                }
+                CRC32 actual = new CRC32();
+                actual.update(bytes);
+                if ((int) actual.getValue() != crc) {
+                    log.warn("Torn record after {} changes in {}, the rest of the segment is skipped.", replayed, segment);
+                    return replayed;
+                }
+                consumer.accept(decode(bytes));
+                replayed++;
+            }
+        }
+    }
+
+    private static EmployeeChange decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        byte type = in.readByte();
+        if (type == DELETE) {
+            return new EmployeeChange(0, EmployeeChange.Type.DELETED, in.readLong(), null);
+        }
+        Employee employee = EmployeeRecords.read(in);
+        return new EmployeeChange(0, type == PATCH ? EmployeeChange.Type.PATCHED : EmployeeChange.Type.UPDATED,
+                employee.getId(), employee);
+    }
+
+    private void open() throws IOException {
+        Path path = directory.resolve(String.format("changes-%020d.log", segment));
+        fileOutput = new FileOutputStream(path.toFile(), true);
+        out = new DataOutputStream(new BufferedOutputStream(fileOutput, 1 << 13));
+    }
+
+    private void closeSegment() throws IOException {
+        out.flush();
+        fileOutput.getFD().sync();
+        out.close();
+    }
+}
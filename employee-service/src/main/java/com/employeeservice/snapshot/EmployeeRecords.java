@@ -0,0 +1,83 @@
+package com.employeeservice.snapshot;
+
+import com.employeeservice.entity.Employee;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary encoding of an Employee shared by the snapshot and the change log: the id, the version and the age as
+ * fixed size numbers, followed by the names, gender and role as length prefixed UTF-8.
+ */
+final class EmployeeRecords {
+
+    private static final int NULL_AGE = Integer.MIN_VALUE;
+
+    private static final short NULL_STRING = -1;
+
+    private EmployeeRecords() {
+    }
+
+    static void write(DataOutput out, Employee employee) throws IOException {
+        out.writeLong(employee.getId());
+        out.writeLong(employee.getVersion());
+        out.writeInt(employee.getAge() == null ? NULL_AGE : employee.getAge());
+        writeString(out, employee.getFirstName());
+        writeString(out, employee.getLastName());
+        writeString(out, employee.getGender());
+        writeString(out, employee.getRole());
+    }
+
+    static Employee read(ByteBuffer in) {
+        long id = in.getLong();
+        long version = in.getLong();
+        int age = in.getInt();
+        Employee employee = new Employee(id, readString(in), readString(in), age == NULL_AGE ? null : age,
+                readString(in), readString(in));
+        employee.setVersion(version);
+        return employee;
+    }
+
+    static Employee read(DataInput in) throws IOException {
+        long id = in.readLong();
+        long version = in.readLong();
+        int age = in.readInt();
+        Employee employee = new Employee(id, readString(in), readString(in), age == NULL_AGE ? null : age,
+                readString(in), readString(in));
+        employee.setVersion(version);
+        return employee;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        short length = in.getShort();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        short length = in.readShort();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
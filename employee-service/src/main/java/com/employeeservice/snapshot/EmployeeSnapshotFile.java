@@ -0,0 +1,243 @@
+package com.employeeservice.snapshot;
+
+import com.employeeservice.entity.Employee;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary snapshot of the Employee table.
+ * <p>
+ * The file starts with a header naming the first change log segment to replay on top of it, followed by blocks
+ * of Employees and an end marker with the total count. Each block carries its length, a CRC and its record
+ * count, so the blocks can be memory mapped, verified and decoded independently, on as many threads as there
+ * are to insert them.
+ * <p>
+ * A snapshot is written to a temporary file and moved over the previous one once complete, a crash while
+ * writing leaves the previous snapshot as it was.
+ */
+public class EmployeeSnapshotFile implements Closeable {
+
+    private static final int MAGIC = 0x454D5053;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int BLOCK_HEADER_SIZE = 12;
+
+    private static final int END_OF_BLOCKS = -1;
+
+    private final FileChannel channel;
+
+    private final long replayFromSegment;
+
+    private final long employeeCount;
+
+    private final List<Block> blocks;
+
+    private EmployeeSnapshotFile(FileChannel channel, long replayFromSegment, long employeeCount, List<Block> blocks) {
+        this.channel = channel;
+        this.replayFromSegment = replayFromSegment;
+        this.employeeCount = employeeCount;
+        this.blocks = blocks;
+    }
+
+    /**
+     * Reads the header and the block headers of the snapshot, the Employees are decoded block by block.
+     */
+    public static EmployeeSnapshotFile open(Path file) throws IOException {
+
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = read(channel, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC || header.getInt() != FORMAT_VERSION) {
+                throw new IOException("Not an Employee snapshot of format version " + FORMAT_VERSION + " - " + file);
+            }
+            long replayFromSegment = header.getLong();
+            List<Block> blocks = new ArrayList<>();
+            long position = HEADER_SIZE;
+            while (true) {
+                ByteBuffer blockHeader = read(channel, position, BLOCK_HEADER_SIZE);
+                int length = blockHeader.getInt();
+                if (length == END_OF_BLOCKS) {
+                    long employeeCount = blockHeader.getLong();
+                    return new EmployeeSnapshotFile(channel, replayFromSegment, employeeCount, Collections.unmodifiableList(blocks));
+                }
+                blocks.add(new Block(position + BLOCK_HEADER_SIZE, length, blockHeader.getInt(), blockHeader.getInt()));
+                position += BLOCK_HEADER_SIZE + length;
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public static Writer writer(Path file, long replayFromSegment, int blockSize) throws IOException {
+        return new Writer(file, replayFromSegment, blockSize);
+    }
+
+    public long getReplayFromSegment() {
+        return replayFromSegment;
+    }
+
+    public long getEmployeeCount() {
+        return employeeCount;
+    }
+
+    public List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Maps the block read only, verifies its CRC and decodes its Employees. Safe to call from several threads.
+     */
+    public List<Employee> decode(Block block) throws IOException {
+
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, block.position, block.length);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != block.crc) {
+            throw new IOException("Corrupt snapshot block at position " + block.position);
+        }
+        List<Employee> employees = new ArrayList<>(block.records);
+        for (int i = 0; i < block.records; i++) {
+            employees.add(EmployeeRecords.read(buffer));
+        }
+        return employees;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated Employee snapshot at position " + position);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    public static class Block {
+
+        private final long position;
+
+        private final int length;
+
+        private final int crc;
+
+        private final int records;
+
+        private Block(long position, int length, int crc, int records) {
+            this.position = position;
+            this.length = length;
+            this.crc = crc;
+            this.records = records;
+        }
+
+        public int getRecords() {
+            return records;
+        }
+    }
+
+    /**
+     * Writes the Employees it's given to a temporary file, {@link #commit()} replaces the snapshot with it.
+     */
+    public static class Writer implements Closeable {
+
+        private final Path file;
+
+        private final Path temporaryFile;
+
+        private final FileOutputStream fileOutput;
+
+        private final DataOutputStream out;
+
+        private final int blockSize;
+
+        private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+
+        private final DataOutputStream blockOut = new DataOutputStream(block);
+
+        private int blockRecords;
+
+        private long employeeCount;
+
+        private boolean committed;
+
+        private Writer(Path file, long replayFromSegment, int blockSize) throws IOException {
+            this.file = file;
+            this.temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+            this.blockSize = blockSize;
+            this.fileOutput = new FileOutputStream(temporaryFile.toFile());
+            this.out = new DataOutputStream(new BufferedOutputStream(fileOutput, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(replayFromSegment);
+        }
+
+        public void add(Employee employee) throws IOException {
+            EmployeeRecords.write(blockOut, employee);
+            employeeCount++;
+            if (++blockRecords == blockSize) {
+                writeBlock();
+            }
+        }
+
+        /**
+         * Completes the snapshot, syncs it to the disk and moves it over the previous one.
+         */
+        public long commit() throws IOException {
+            if (blockRecords > 0) {
+                writeBlock();
+            }
+            out.writeInt(END_OF_BLOCKS);
+            out.writeLong(employeeCount);
+            out.flush();
+            fileOutput.getFD().sync();
+            out.close();
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            committed = true;
+            return employeeCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                out.close();
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+
+        private void writeBlock() throws IOException {
+            CRC32 crc = new CRC32();
+            crc.update(block.toByteArray());
+            out.writeInt(block.size());
+            out.writeInt((int) crc.getValue());
+            out.writeInt(blockRecords);
+            block.writeTo(out);
+            block.reset();
+            blockRecords = 0;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package com.employeeservice.snapshot;
+
+import com.employeeservice.dto.EmployeeChange;
+import com.employeeservice.entity.Employee;
+import com.employeeservice.feed.EmployeeChangeFeed;
+import com.employeeservice.version.EmployeeTableVersion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in memory Employee table on disk as a snapshot and a change log, and restores it at startup instead
+ * of seeding it again.
+ * <p>
+ * Every change published to the change feed is appended to the log. A snapshot of the whole table is written
+ * every employee.snapshot.interval-seconds when something changed, and at shutdown. At startup the snapshot is
+ * memory mapped and inserted block by block on employee.snapshot.restore-threads threads, then the log
+ * segments written after it are replayed on top. The restore runs once the singletons are created, before the
+ * web server is started, so no request writes to the table or takes an id before it's done.
+ * <p>
+ * The changes are appended by a single thread in the order of their sequence, the writers and the lock of the
+ * feed don't wait for the disk. A crash of the process loses the committed changes still waiting for that
+ * thread.
+ * <p>
+ * A snapshot first rotates the log and then reads the table, so every change it might miss is in a segment
+ * that's replayed after it. The replay sets the values and the versions the changes wrote, a patch included,
+ * and can apply a change the snapshot already has without harm.
+ */
+@Slf4j
+@Component
+@Profile("snapshot")
+public class EmployeeSnapshotStore implements SmartInitializingSingleton {
+
+    static final String SNAPSHOT_FILE = "employees.snapshot";
+
+    private static final String COLUMNS = "id, firstname, lastname, age, gender, role, version";
+
+    // the allocation size of the employee_seq generator
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EmployeeChangeFeed employeeChangeFeed;
+
+    @Autowired
+    EmployeeTableVersion employeeTableVersion;
+
+    @Value("${employee.snapshot.dir:./employee-data}")
+    String directory;
+
+    @Value("${employee.snapshot.interval-seconds:300}")
+    long intervalSeconds;
+
+    @Value("${employee.snapshot.restore-threads:4}")
+    int restoreThreads;
+
+    @Value("${employee.snapshot.block-size:10000}")
+    int blockSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    int batchSize;
+
+    private Path snapshotDirectory;
+
+    private EmployeeChangeLog changeLog;
+
+    private ExecutorService appender;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean restored;
+
+    // the seeded Employees aren't in the log, the first snapshot has to be taken either way
+    private volatile boolean changed = true;
+
+    /**
+     * Opens the change log before any change is published, the changes written after it go to a segment that
+     * isn't replayed.
+     */
+    @PostConstruct
+    public void openChangeLog() throws IOException {
+        snapshotDirectory = Paths.get(directory).toAbsolutePath();
+        Files.createDirectories(snapshotDirectory);
+        changeLog = new EmployeeChangeLog(snapshotDirectory);
+        appender = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-change-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        employeeChangeFeed.listen(this::append);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        try {
+            restore();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Restoring the Employees from the snapshot was interrupted", e);
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotIfChanged, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * True when the Employees were restored from the disk, the seeding is skipped then.
+     */
+    public boolean isRestored() {
+        return restored;
+    }
+
+    /**
+     * Rotates the change log and writes the snapshot of the table, the segments it covers are deleted.
+     */
+    public synchronized void snapshot() throws IOException {
+
+        long start = System.currentTimeMillis();
+        changed = false;
+        long replayFromSegment = changeLog.rotate();
+        long count;
+        try (EmployeeSnapshotFile.Writer writer = EmployeeSnapshotFile.writer(snapshotDirectory.resolve(SNAPSHOT_FILE),
+                replayFromSegment, blockSize)) {
+            jdbcTemplate.query("select " + COLUMNS + " from employee order by id", resultSet -> {
+                Employee employee = new Employee(resultSet.getLong(1), resultSet.getString(2), resultSet.getString(3),
+                        (Integer) resultSet.getObject(4), resultSet.getString(5), resultSet.getString(6));
+                employee.setVersion(resultSet.getLong(7));
+                try {
+                    writer.add(employee);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            count = writer.commit();
+        } catch (IOException | RuntimeException e) {
+            changed = true;
+            throw e;
+        }
+        changeLog.deleteSegmentsBefore(replayFromSegment);
+        log.info("Wrote the snapshot of {} Employees in {} ms.", count, System.currentTimeMillis() - start);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        // the changes still queued are appended before the log is closed
+        appender.shutdown();
+        try {
+            appender.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            snapshotIfChanged();
+        } finally {
+            changeLog.close();
+        }
+    }
+
+    private void restore() throws IOException, InterruptedException {
+
+        long start = System.currentTimeMillis();
+        Path snapshotFile = snapshotDirectory.resolve(SNAPSHOT_FILE);
+        long replayFromSegment = 0;
+        long loaded = 0;
+        boolean snapshotExists = Files.exists(snapshotFile);
+        if (snapshotExists) {
+            try (EmployeeSnapshotFile snapshot = EmployeeSnapshotFile.open(snapshotFile)) {
+                replayFromSegment = snapshot.getReplayFromSegment();
+                loaded = load(snapshot);
+            }
+        }
+        long loadMillis = System.currentTimeMillis() - start;
+
+        long replayStart = System.currentTimeMillis();
+        int replayed = 0;
+        for (Path segment : EmployeeChangeLog.segments(snapshotDirectory)) {
+            long number = EmployeeChangeLog.segmentNumber(segment);
+            if (number >= replayFromSegment && number < changeLog.getSegment()) {
+                replayed += replay(segment);
+            }
+        }
+        restored = snapshotExists || replayed > 0;
+        if (!restored) {
+            log.info("No snapshot in {}, the Employees are seeded.", snapshotDirectory);
+            return;
+        }
+        restartIdSequence();
+        employeeTableVersion.increment();
+        // a replayed change is only on the disk in the log until the next snapshot
+        changed = replayed > 0;
+        log.info("Restored {} Employees from the snapshot in {} ms and replayed {} changes in {} ms, {} ms in total.",
+                loaded, loadMillis, replayed, System.currentTimeMillis() - replayStart, System.currentTimeMillis() - start);
+    }
+
+    private long load(EmployeeSnapshotFile snapshot) throws InterruptedException {
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicLong loaded = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(restoreThreads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (EmployeeSnapshotFile.Block block : snapshot.getBlocks()) {
+                futures.add(executor.submit(() -> {
+                    List<Employee> employees = snapshot.decode(block);
+                    transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(
+                            "insert into employee (" + COLUMNS + ") values (?, ?, ?, ?, ?, ?, ?)",
+                            employees, batchSize, (statement, employee) -> {
+                                statement.setLong(1, employee.getId());
+                                statement.setString(2, employee.getFirstName());
+                                statement.setString(3, employee.getLastName());
+                                statement.setObject(4, employee.getAge(), Types.INTEGER);
+                                statement.setString(5, employee.getGender());
+                                statement.setString(6, employee.getRole());
+                                statement.setLong(7, employee.getVersion());
+                            }));
+                    return loaded.addAndGet(employees.size());
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Restoring the Employees from the snapshot failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return loaded.get();
+    }
+
+    private int replay(Path segment) throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(status -> {
+            try {
+                return EmployeeChangeLog.replay(segment, this::apply);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void apply(EmployeeChange change) {
+
+        Employee employee = change.getEmployee();
+        switch (change.getType()) {
+            case UPDATED:
+                jdbcTemplate.update("merge into employee (" + COLUMNS + ") key (id) values (?, ?, ?, ?, ?, ?, ?)",
+                        employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getAge(),
+                        employee.getGender(), employee.getRole(), employee.getVersion());
+                break;
+            case PATCHED:
+                jdbcTemplate.update("update employee set firstname = coalesce(?, firstname), lastname = coalesce(?, lastname),"
+                                + " age = coalesce(?, age), gender = coalesce(?, gender), role = coalesce(?, role),"
+                                + " version = ? where id = ?",
+                        employee.getFirstName(), employee.getLastName(), employee.getAge(), employee.getGender(),
+                        employee.getRole(), employee.getVersion(), employee.getId());
+                break;
+            case DELETED:
+                jdbcTemplate.update("delete from employee where id = ?", change.getId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    // the rows were inserted with their ids, the generator must continue after them
+    private void restartIdSequence() {
+        Long maxId = jdbcTemplate.queryForObject("select max(id) from employee", Long.class);
+        if (maxId != null) {
+            jdbcTemplate.execute("alter sequence employee_seq restart with " + (maxId + ID_ALLOCATION_SIZE));
+        }
+    }
+
+    // called under the lock of the feed, the single thread keeps the order of the sequence
+    private void append(EmployeeChange change) {
+        changed = true;
+        appender.execute(() -> {
+            try {
+                changeLog.append(change);
+            } catch (IOException e) {
+                log.error("Appending the change {} to the change log failed, the next snapshot covers it.", change.getSequence(), e);
+            }
+        });
+    }
+
+    private void snapshotIfChanged() {
+        if (!changed) {
+            return;
+        }
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Writing the snapshot failed, the change log still has the changes since the last one.", e);
+        }
+    }
+}
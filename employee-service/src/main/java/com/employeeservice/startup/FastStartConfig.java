@@ -0,0 +1,26 @@
+package com.employeeservice.startup;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Shorter startup for autoscaled containers: the application beans are created lazily and the startup is
+ * timed. Swagger and the initial data are left out by their own profiles, the schema comes from a script.
+ */
+@Configuration
+@Profile("fast-start")
+public class FastStartConfig {
+
+    // static, the post processors must not force the early creation of this configuration
+    @Bean
+    public static LazyInitializationPostProcessor lazyInitializationPostProcessor() {
+        return new LazyInitializationPostProcessor();
+    }
+
+    @Bean
+    public static StartupReport startupReport(@Value("${employee.startup-report.top-beans:20}") int topBeans) {
+        return new StartupReport(topBeans);
+    }
+}
@@ -0,0 +1,47 @@
+package com.employeeservice.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Makes the application beans lazy, a bean is created when it's first needed instead of at startup.
+ * <p>
+ * Infrastructure beans are left eager, and so are the runners and the SmartInitializingSingletons: they are
+ * created at startup anyway, and the callback of a lazy SmartInitializingSingleton, like the restore of the
+ * snapshot store, would never be called.
+ */
+@Slf4j
+public class LazyInitializationPostProcessor implements BeanFactoryPostProcessor {
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+
+        int lazy = 0;
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() == BeanDefinition.ROLE_APPLICATION && !definition.isLazyInit()
+                    && !isRunner(definition, beanFactory.getBeanClassLoader())) {
+                definition.setLazyInit(true);
+                lazy++;
+            }
+        }
+        log.info("{} of {} beans are initialized lazily.", lazy, beanFactory.getBeanDefinitionCount());
+    }
+
+    // only looks at the declared class, the beans of @Bean methods are taken as lazy
+    private static boolean isRunner(BeanDefinition definition, ClassLoader classLoader) {
+        String className = definition.getBeanClassName();
+        if (className == null || definition.getFactoryMethodName() != null || !ClassUtils.isPresent(className, classLoader)) {
+            return false;
+        }
+        Class<?> beanClass = ClassUtils.resolveClassName(className, classLoader);
+        return CommandLineRunner.class.isAssignableFrom(beanClass) || ApplicationRunner.class.isAssignableFrom(beanClass)
+                || SmartInitializingSingleton.class.isAssignableFrom(beanClass);
+    }
+}
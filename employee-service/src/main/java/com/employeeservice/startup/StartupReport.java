@@ -0,0 +1,122 @@
+package com.employeeservice.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.Ordered;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs how long each phase of the startup took and which beans took the longest to create, once the
+ * application is ready.
+ * <p>
+ * The phases are marked by the callbacks Spring gives every application: the bean definitions are loaded when
+ * the bean factory post processors run, the singletons are created when the last one is, then the web server
+ * starts, the runners run and the ready listeners, like the rebuild of the name index, are called. The time of a
+ * bean runs from its instantiation to the end of its initialization and includes the dependencies it created.
+ */
+@Slf4j
+public class StartupReport implements BeanFactoryPostProcessor, InstantiationAwareBeanPostProcessor,
+        SmartInitializingSingleton, ApplicationListener<ApplicationEvent>, Ordered {
+
+    private final int topBeans;
+
+    private final Map<String, Long> creationStarts = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> creationTimes = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> marks = new LinkedHashMap<>();
+
+    private volatile boolean reported;
+
+    public StartupReport(int topBeans) {
+        this.topBeans = topBeans;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+        mark("bean definitions loaded");
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+        // the lazy beans created after the report aren't timed
+        if (!reported) {
+            creationStarts.putIfAbsent(beanName, System.nanoTime());
+        }
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        Long start = creationStarts.remove(beanName);
+        if (start != null) {
+            creationTimes.put(beanName, System.nanoTime() - start);
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        mark("singletons created");
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof WebServerInitializedEvent) {
+            mark("web server started");
+        } else if (event instanceof ApplicationStartedEvent) {
+            mark("context refreshed");
+        } else if (event instanceof ApplicationReadyEvent) {
+            mark("runners and ready listeners done");
+            report();
+        }
+    }
+
+    // as late as possible among the ready listeners
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    private synchronized void mark(String phase) {
+        marks.putIfAbsent(phase, System.currentTimeMillis());
+    }
+
+    private synchronized void report() {
+
+        long jvmStart = ManagementFactory.getRuntimeMXBean().getStartTime();
+        StringBuilder report = new StringBuilder("Startup report\n");
+        long previous = jvmStart;
+        for (Map.Entry<String, Long> mark : marks.entrySet()) {
+            report.append(String.format("  %-34s %6d ms  (+%d ms)%n", mark.getKey(), mark.getValue() - jvmStart,
+                    mark.getValue() - previous));
+            previous = mark.getValue();
+        }
+        List<Map.Entry<String, Long>> beans = new ArrayList<>(creationTimes.entrySet());
+        beans.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        report.append(String.format("  %d beans created at startup, the slowest:%n", beans.size()));
+        beans.stream().limit(topBeans).forEach(bean -> report.append(String.format("  %6d ms  %s%n",
+                TimeUnit.NANOSECONDS.toMillis(bean.getValue()), bean.getKey())));
+        log.info(report.toString().trim());
+        reported = true;
+        creationStarts.clear();
+        creationTimes.clear();
+    }
+}
@@ -0,0 +1,198 @@
+package com.employeeservice.stats;
+
+import com.employeeservice.dto.EmployeeStats;
+import com.employeeservice.entity.Employee;
+import com.employeeservice.repository.EmployeeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headcounts and age statistics of the Employees, maintained on every write instead of computed from the table.
+ * <p>
+ * The role, gender, age and version of each Employee are kept, so a patch or a delete that doesn't load the
+ * Employee can still take back what it counted before. The writes and the rebuild take the lock of the
+ * statistics, a write that is older than the one counted for its Employee, or comes after its delete, is ignored.
+ * The ids of the deleted Employees are kept until the next rebuild, the ids aren't reused.
+ * <p>
+ * The counters are LongAdders, a snapshot takes no lock and costs the number of distinct roles, genders and ages,
+ * not the number of Employees. A snapshot taken during a write may count that write in some of the numbers only.
+ * <p>
+ * Like the name index, the statistics follow the writes done through the EmployeeService and are built from the
+ * repository once the application is ready.
+ */
+@Component
+@Slf4j
+public class EmployeeStatistics {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+
+    private final Map<Long, Facts> factsById = new HashMap<>();
+
+    private final Set<Long> deletedIds = new HashSet<>();
+
+    private final LongAdder headcount = new LongAdder();
+
+    private final Map<String, LongAdder> byRole = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> byGender = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, LongAdder>> byRoleAndGender = new ConcurrentHashMap<>();
+
+    private final Map<Integer, LongAdder> byAge = new ConcurrentSkipListMap<>();
+
+    private final LongAdder ageCount = new LongAdder();
+
+    private final LongAdder ageSum = new LongAdder();
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+
+        long start = System.currentTimeMillis();
+        factsById.values().forEach(facts -> count(facts, -1));
+        factsById.clear();
+        deletedIds.clear();
+        Long lastId = Long.MIN_VALUE;
+        List<Employee> page;
+        do {
+            page = employeeRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            page.forEach(this::record);
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REBUILD_PAGE_SIZE);
+        log.info("Employee statistics built for {} Employees in {} ms.", headcount.sum(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Counts the Employee, or replaces what was counted for it before unless that was a newer version.
+     */
+    public synchronized void record(Employee employee) {
+
+        Facts previous = factsById.get(employee.getId());
+        if (deletedIds.contains(employee.getId()) || previous != null && previous.version > employee.getVersion()) {
+            return;
+        }
+        if (previous != null) {
+            count(previous, -1);
+        }
+        Facts facts = new Facts(employee.getRole(), employee.getGender(), employee.getAge(), employee.getVersion());
+        count(facts, 1);
+        factsById.put(employee.getId(), facts);
+    }
+
+    /**
+     * Replaces the given values of a counted Employee, a null value keeps the one counted before. The version is
+     * the one the patch gave the row, a patch that isn't newer than what was counted is ignored.
+     */
+    public synchronized void patch(Long id, long version, String role, String gender, Integer age) {
+
+        Facts previous = factsById.get(id);
+        if (previous == null || previous.version >= version) {
+            return;
+        }
+        Facts facts = new Facts(role == null ? previous.role : role,
+                gender == null ? previous.gender : gender,
+                age == null ? previous.age : age,
+                version);
+        count(previous, -1);
+        count(facts, 1);
+        factsById.put(id, facts);
+    }
+
+    public synchronized void remove(Long id) {
+        deletedIds.add(id);
+        Facts previous = factsById.remove(id);
+        if (previous != null) {
+            count(previous, -1);
+        }
+    }
+
+    public EmployeeStats snapshot() {
+
+        Map<String, Map<String, Long>> roleAndGender = new TreeMap<>();
+        byRoleAndGender.forEach((role, genders) -> {
+            Map<String, Long> counts = sums(genders);
+            if (!counts.isEmpty()) {
+                roleAndGender.put(role, counts);
+            }
+        });
+        Integer minAge = null;
+        Integer maxAge = null;
+        for (Map.Entry<Integer, LongAdder> entry : byAge.entrySet()) {
+            if (entry.getValue().sum() > 0) {
+                minAge = minAge == null ? entry.getKey() : minAge;
+                maxAge = entry.getKey();
+            }
+        }
+        long ages = ageCount.sum();
+        Double averageAge = ages == 0 ? null : (double) ageSum.sum() / ages;
+        return new EmployeeStats(headcount.sum(), sums(byRole), sums(byGender), roleAndGender, minAge, maxAge, averageAge);
+    }
+
+    private void count(Facts facts, int delta) {
+        headcount.add(delta);
+        adder(byRole, facts.role).add(delta);
+        adder(byGender, facts.gender).add(delta);
+        adder(byRoleAndGender.computeIfAbsent(key(facts.role), role -> new ConcurrentHashMap<>()), facts.gender).add(delta);
+        if (facts.age != null) {
+            byAge.computeIfAbsent(facts.age, age -> new LongAdder()).add(delta);
+            ageCount.add(delta);
+            ageSum.add((long) delta * facts.age);
+        }
+    }
+
+    private static LongAdder adder(Map<String, LongAdder> counters, String value) {
+        return counters.computeIfAbsent(key(value), key -> new LongAdder());
+    }
+
+    private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+        Map<String, Long> sums = new TreeMap<>();
+        counters.forEach((value, counter) -> {
+            long sum = counter.sum();
+            if (sum > 0) {
+                sums.put(value, sum);
+            }
+        });
+        return sums;
+    }
+
+    // the concurrent maps don't take null keys
+    private static String key(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static class Facts {
+
+        private final String role;
+
+        private final String gender;
+
+        private final Integer age;
+
+        private final long version;
+
+        private Facts(String role, String gender, Integer age, long version) {
+            this.role = role;
+            this.gender = gender;
+            this.age = age;
+            this.version = version;
+        }
+    }
+}
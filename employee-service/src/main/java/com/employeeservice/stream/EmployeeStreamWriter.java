@@ -0,0 +1,120 @@
+package com.employeeservice.stream;
+
+import com.employeeservice.entity.Employee;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Writes Employees as newline delimited JSON or as CSV while they are read from the repository.
+ */
+@Component
+public class EmployeeStreamWriter {
+
+    public static final String CSV_HEADER = "id,firstName,lastName,age,gender,role\r\n";
+
+    private static final int CSV_BUFFER_SIZE = 8192;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter employeeWriter;
+
+    public EmployeeStreamWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.employeeWriter = objectMapper.writerFor(Employee.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes one Employee per line and returns the number of Employees written.
+     * The first line is flushed right away, the rest is flushed whenever the response buffer fills up.
+     * Every written Employee is detached so the persistence context does not grow with the result.
+     */
+    public long writeNdjson(Iterator<Employee> employees, OutputStream outputStream) throws IOException {
+
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        long count = 0;
+        while (employees.hasNext()) {
+            Employee employee = employees.next();
+            employeeWriter.writeValue(generator, employee);
+            generator.writeRaw('\n');
+            entityManager.detach(employee);
+            if (++count == 1) {
+                generator.flush();
+            }
+        }
+        generator.flush();
+        return count;
+    }
+
+    /**
+     * Writes a header line and one CSV row per Employee and returns the number of rows written.
+     * The rows go through a buffer of a fixed size, each full buffer is written to the response and the write
+     * blocks while the client doesn't read, so the memory used doesn't grow with the number of Employees.
+     */
+    public long writeCsv(Iterator<Employee> employees, OutputStream outputStream) throws IOException {
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        long count = 0;
+        while (employees.hasNext()) {
+            Employee employee = employees.next();
+            writeCsvRow(writer, employee);
+            entityManager.detach(employee);
+            if (++count == 1) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * Writes the Employee as a CSV row in the order of the {@link #CSV_HEADER} columns.
+     */
+    public static void writeCsvRow(Writer writer, Employee employee) throws IOException {
+        writer.write(String.valueOf(employee.getId()));
+        writeCsvField(writer, employee.getFirstName());
+        writeCsvField(writer, employee.getLastName());
+        writeCsvField(writer, employee.getAge() == null ? null : employee.getAge().toString());
+        writeCsvField(writer, employee.getGender());
+        writeCsvField(writer, employee.getRole());
+        writer.write("\r\n");
+    }
+
+    // RFC 4180, a null is an empty field and a value with a separator, a quote or a line break is quoted
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        boolean quoted = false;
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
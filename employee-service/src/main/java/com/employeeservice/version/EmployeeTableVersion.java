@@ -0,0 +1,35 @@
+package com.employeeservice.version;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Table level version of the Employees, used as the validator of the collection resources.
+ * <p>
+ * It has to be incremented after every committed write done through the EmployeeController. Readers take the
+ * ETag before they read, so a response is never tagged with a version newer than its content.
+ * <p>
+ * The ETags are weak, the same version is served as JSON, Smile or CBOR and compressed or not, so the
+ * representations are only semantically equivalent. Tomcat doesn't compress responses with a strong ETag either.
+ */
+@Component
+public class EmployeeTableVersion {
+
+    // the start time keeps the ETags of different runs of the service apart
+    private final long epoch = System.currentTimeMillis();
+
+    private final AtomicLong version = new AtomicLong();
+
+    public void increment() {
+        version.incrementAndGet();
+    }
+
+    public String eTag() {
+        return "W/\"" + epoch + "-" + version.get() + "\"";
+    }
+
+    public static String eTag(Long id, long version) {
+        return "W/\"" + id + "-" + version + "\"";
+    }
+}
@@ -0,0 +1,13 @@
+-- the schema Hibernate generates for the Employee entity, used when the schema generation is skipped
+create sequence if not exists employee_seq start with 1 increment by 50;
+
+create table if not exists employee (
+    id bigint not null,
+    age integer,
+    firstname varchar(255),
+    gender varchar(255),
+    lastname varchar(255),
+    role varchar(255),
+    version bigint not null,
+    primary key (id)
+);
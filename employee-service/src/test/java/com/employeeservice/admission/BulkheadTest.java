@@ -0,0 +1,70 @@
+package com.employeeservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkheadTest {
+
+    @Test
+    void rejectsWhenTheWaitTimesOut() {
+
+        Bulkhead bulkhead = new Bulkhead("reads", 2, 5, 10);
+
+        assertTrue(bulkhead.tryEnter());
+        assertTrue(bulkhead.tryEnter());
+        assertEquals(1.0, bulkhead.getSaturation());
+        assertFalse(bulkhead.tryEnter());
+        assertEquals(1, bulkhead.getTimeoutRejections());
+        assertEquals(0, bulkhead.getQueued());
+
+        bulkhead.exit();
+        assertTrue(bulkhead.tryEnter());
+        assertEquals(2, bulkhead.getActive());
+    }
+
+    @Test
+    void waitingRequestGetsTheReleasedPermit() throws Exception {
+
+        Bulkhead bulkhead = new Bulkhead("reads", 1, 1, TimeUnit.SECONDS.toMillis(10));
+        assertTrue(bulkhead.tryEnter());
+
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(bulkhead::tryEnter);
+        awaitQueued(bulkhead, 1);
+        bulkhead.exit();
+
+        assertTrue(waiting.get(10, TimeUnit.SECONDS));
+        assertEquals(1, bulkhead.getActive());
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    @Test
+    void rejectsRightAwayWhenTheQueueIsFull() throws Exception {
+
+        Bulkhead bulkhead = new Bulkhead("reads", 1, 1, TimeUnit.SECONDS.toMillis(10));
+        assertTrue(bulkhead.tryEnter());
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(bulkhead::tryEnter);
+        awaitQueued(bulkhead, 1);
+
+        long start = System.nanoTime();
+        assertFalse(bulkhead.tryEnter());
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+        assertEquals(1, bulkhead.getQueueFullRejections());
+        bulkhead.exit();
+        assertTrue(waiting.get(10, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQueued(Bulkhead bulkhead, int queued) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (bulkhead.getQueued() < queued && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(queued, bulkhead.getQueued());
+    }
+}
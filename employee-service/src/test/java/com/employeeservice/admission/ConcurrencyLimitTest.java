@@ -0,0 +1,77 @@
+package com.employeeservice.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrencyLimitTest {
+
+    @Test
+    void rejectsOverTheLimit() {
+
+        ConcurrencyLimit limit = new ConcurrencyLimit("reads", 2, 1, 10);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(1, limit.getRejections());
+
+        limit.release(TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.getInFlight());
+    }
+
+    @Test
+    void limitGrowsWhileTheLatencyStaysFlat() {
+
+        ConcurrencyLimit limit = new ConcurrencyLimit("reads", 10, 1, 100);
+
+        saturate(limit, 50, TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertTrue(limit.getLimit() > 10);
+        assertTrue(limit.getLimit() <= 100);
+    }
+
+    @Test
+    void limitShrinksWhenTheLatencyRises() {
+
+        ConcurrencyLimit limit = new ConcurrencyLimit("reads", 10, 4, 100);
+        saturate(limit, 20, TimeUnit.MILLISECONDS.toNanos(1));
+        int grownLimit = limit.getLimit();
+
+        saturate(limit, 20, TimeUnit.MILLISECONDS.toNanos(20));
+
+        assertTrue(limit.getLimit() < grownLimit);
+        assertTrue(limit.getLimit() >= 4);
+    }
+
+    @Test
+    void lightLoadLeavesTheLimitAsItIs() {
+
+        ConcurrencyLimit limit = new ConcurrencyLimit("reads", 10, 1, 100);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limit.tryAcquire());
+            limit.release(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+
+        assertEquals(10, limit.getLimit());
+    }
+
+    // takes every permit and releases them all with the given latency, round after round
+    private static void saturate(ConcurrencyLimit limit, int rounds, long latencyNanos) {
+        for (int round = 0; round < rounds; round++) {
+            int permits = limit.getLimit();
+            for (int i = 0; i < permits; i++) {
+                assertTrue(limit.tryAcquire());
+            }
+            for (int i = 0; i < permits; i++) {
+                limit.release(latencyNanos);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.employeeservice.benchmark;
+
+import com.employeeservice.entity.Employee;
+import com.employeeservice.intialize.SyntheticEmployees;
+import com.employeeservice.readmodel.EmployeeColumns;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the heap taken by the Employees held as entities, with a String per field like the rows loaded from
+ * JDBC, and by the columns of the read model, for the same synthetic Employees.
+ * <p>
+ * Run each layout in a JVM of its own, the arguments are the layout and the number of Employees:
+ * <pre>
+ * ReadModelFootprint entities 1000000
+ * ReadModelFootprint columns 1000000
+ * </pre>
+ */
+public class ReadModelFootprint {
+
+    private static final int CHUNK_SIZE = 10000;
+
+    public static void main(String[] args) throws Exception {
+
+        boolean columns = args.length == 0 || "columns".equals(args[0]);
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+        SyntheticEmployees synthetic = new SyntheticEmployees(42);
+
+        long before = usedHeap();
+        Object held;
+        if (columns) {
+            EmployeeColumns.Builder builder = EmployeeColumns.builder();
+            long id = 1;
+            for (int chunk = 0; (long) chunk * CHUNK_SIZE < count; chunk++) {
+                for (Employee employee : synthetic.chunk(chunk, CHUNK_SIZE)) {
+                    employee.setId(id++);
+                    builder.add(employee);
+                }
+            }
+            held = builder.build();
+        } else {
+            List<Employee> employees = new ArrayList<>(count);
+            long id = 1;
+            for (int chunk = 0; (long) chunk * CHUNK_SIZE < count; chunk++) {
+                for (Employee employee : synthetic.chunk(chunk, CHUNK_SIZE)) {
+                    employees.add(new Employee(id++, new String(employee.getFirstName()), new String(employee.getLastName()),
+                            employee.getAge(), new String(employee.getGender()), new String(employee.getRole())));
+                }
+            }
+            held = employees;
+        }
+        long bytes = usedHeap() - before;
+
+        System.out.printf("%-8s %,d Employees  %,d MB  %d bytes per Employee%n", columns ? "columns" : "entities",
+                count, bytes / 1024 / 1024, bytes / count);
+        if (held instanceof EmployeeColumns) {
+            System.out.printf("         estimated by the model %d bytes per Employee%n",
+                    ((EmployeeColumns) held).estimatedBytes() / count);
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
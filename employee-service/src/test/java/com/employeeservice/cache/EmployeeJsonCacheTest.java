@@ -0,0 +1,98 @@
+package com.employeeservice.cache;
+
+import com.employeeservice.entity.Employee;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeJsonCacheTest {
+
+    EmployeeJsonCache employeeJsonCache = new EmployeeJsonCache(2);
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        employeeJsonCache.objectMapper = objectMapper;
+        employeeJsonCache.bindTo(registry);
+    }
+
+    @Test
+    void jsonIsSerializedOncePerVersion() {
+
+        Employee employee = employee(1L, "Adam", 0);
+
+        byte[] json = employeeJsonCache.json(employee);
+
+        assertSame(json, employeeJsonCache.json(employee));
+        assertSame(json, employeeJsonCache.get(1L, 0));
+        assertNull(employeeJsonCache.get(1L, 1));
+        assertEquals(2, registry.get("employee.json.cache.requests").tag("result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("employee.json.cache.requests").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void evict() {
+
+        employeeJsonCache.json(employee(1L, "Adam", 0));
+
+        employeeJsonCache.evict(1L);
+
+        assertNull(employeeJsonCache.get(1L, 0));
+    }
+
+    @Test
+    void leastRecentlyUsedIsRemoved() {
+
+        employeeJsonCache.json(employee(1L, "Adam", 0));
+        employeeJsonCache.json(employee(2L, "Christian", 0));
+        employeeJsonCache.get(1L, 0);
+
+        employeeJsonCache.json(employee(3L, "Chris", 0));
+
+        assertNotNull(employeeJsonCache.get(1L, 0));
+        assertNull(employeeJsonCache.get(2L, 0));
+        assertEquals(2, registry.get("employee.json.cache.size").gauge().value());
+    }
+
+    @Test
+    void jsonArray() throws IOException {
+
+        byte[] json = employeeJsonCache.jsonArray(Arrays.asList(employee(1L, "Adam", 0), employee(2L, "Christian", 3)));
+
+        JsonNode array = objectMapper.readTree(json);
+        assertEquals(2, array.size());
+        assertEquals("Christian", array.get(1).get("firstName").asText());
+        assertFalse(array.get(1).has("version"));
+    }
+
+    @Test
+    void servesJson() {
+
+        assertTrue(EmployeeJsonCache.servesJson(null));
+        assertTrue(EmployeeJsonCache.servesJson("*/*"));
+        assertTrue(EmployeeJsonCache.servesJson("application/json"));
+        assertFalse(EmployeeJsonCache.servesJson("application/x-jackson-smile, application/json;q=0.9"));
+        assertFalse(EmployeeJsonCache.servesJson("application/cbor"));
+    }
+
+    private Employee employee(Long id, String firstName, long version) {
+        Employee employee = new Employee(id, firstName, "Bale", 53, "male", "Engineer");
+        employee.setVersion(version);
+        return employee;
+    }
+}
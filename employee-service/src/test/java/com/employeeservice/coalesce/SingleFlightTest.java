@@ -0,0 +1,119 @@
+package com.employeeservice.coalesce;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+
+    SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallsShareOneExecution() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                executions.incrementAndGet();
+                await(release);
+                return "Adam";
+            })));
+        }
+        awaitCoalesced(7);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertSame(results.get(0).get(), result.get());
+        }
+        assertEquals(1, executions.get());
+        assertEquals(1, singleFlight.getExecuted());
+        assertEquals(7, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void callAfterTheFlightExecutesAgain() {
+
+        assertEquals("Adam", singleFlight.execute(1L, () -> "Adam"));
+        assertEquals("Chris", singleFlight.execute(1L, () -> "Chris"));
+        assertEquals(2, singleFlight.getExecuted());
+    }
+
+    @Test
+    void forgottenFlightIsNotJoined() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> beforeWrite = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            return "Adam";
+        }));
+        while (singleFlight.getExecuted() == 0) {
+            Thread.sleep(5);
+        }
+
+        singleFlight.forget(1L);
+        String afterWrite = singleFlight.execute(1L, () -> "Adam Sandler");
+        release.countDown();
+
+        assertEquals("Adam Sandler", afterWrite);
+        assertEquals("Adam", beforeWrite.get());
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+
+    @Test
+    void exceptionIsShared() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            await(release);
+            throw new IllegalStateException("DB down");
+        }));
+        while (singleFlight.getExecuted() == 0) {
+            Thread.sleep(5);
+        }
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "Adam"));
+        awaitCoalesced(1);
+        release.countDown();
+
+        ExecutionException leaderException = assertThrows(ExecutionException.class, leader::get);
+        ExecutionException followerException = assertThrows(ExecutionException.class, follower::get);
+        assertTrue(leaderException.getCause() instanceof IllegalStateException);
+        assertSame(leaderException.getCause(), followerException.getCause());
+    }
+
+    private void awaitCoalesced(long count) throws InterruptedException {
+        while (singleFlight.getCoalesced() < count) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,26 +1,53 @@
 package com.employeeservice.controller;
 
 
+import com.employeeservice.cache.EmployeeJsonCache;
 import com.employeeservice.constants.EmployeeConstants;
+import com.employeeservice.dto.BulkEmployeeResponse;
+import com.employeeservice.dto.EmployeeChange;
+import com.employeeservice.dto.EmployeeImportResponse;
+import com.employeeservice.dto.EmployeePage;
 import com.employeeservice.entity.Employee;
+import com.employeeservice.index.EmployeeNameIndex;
+import com.employeeservice.readmodel.EmployeeReadModel;
+import com.employeeservice.service.EmployeeService;
+import com.employeeservice.stats.EmployeeStatistics;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.employeeservice.constants.EmployeeConstants.*;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @AutoConfigureWebClient
@@ -37,11 +64,35 @@ public class EmployeeControllerTestIT {
     WebTestClient webTestClient;
 
     @Autowired
-    EmployeeController employeeController;
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeNameIndex employeeNameIndex;
+
+    @Autowired
+    EmployeeJsonCache employeeJsonCache;
+
+    @Autowired
+    EmployeeStatistics employeeStatistics;
+
+    @Autowired
+    EmployeeReadModel employeeReadModel;
 
     @Value("${server.servlet.context-path}")
     private String contextPath;
 
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        // the sql scripts write to the DB directly, bypassing the service that keeps the index, the cache, the statistics and the read model up to date
+        employeeNameIndex.rebuild();
+        employeeJsonCache.clear();
+        employeeStatistics.rebuild();
+        employeeReadModel.rebuild();
+    }
+
     @Test
     void getAllItems() {
 
@@ -57,6 +108,288 @@ public class EmployeeControllerTestIT {
 
     }
 
+    @Test
+    void getAllItems_Smile() {
+
+        List<Employee> employeeList = webTestClient.get()
+                .uri(contextPath.concat(GET_ALL_MOVIES_V1))
+                .accept(MediaType.valueOf(APPLICATION_SMILE_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.valueOf(APPLICATION_SMILE_VALUE))
+                .returnResult(Employee.class)
+                .getResponseBody()
+                .toStream().collect(Collectors.toList());
+
+        assertEquals(2, employeeList.size());
+    }
+
+    @Test
+    void getAllItems_Gzip() {
+
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            employees.add(new Employee(null, "First" + i, "Last" + i, 30, "female", "Engineer"));
+        }
+        webTestClient.post().uri(contextPath.concat(ADD_EMPLOYEES_BULK_V1))
+                .syncBody(employees)
+                .exchange()
+                .expectStatus().isCreated();
+
+        // the default connector decompresses the body and drops the Content-Encoding header
+        WebTestClient rawClient = WebTestClient.bindToServer(new ReactorClientHttpConnector(HttpClient.create().compress(false)))
+                .baseUrl("http://localhost:" + port)
+                .build();
+        rawClient.get()
+                .uri(contextPath.concat(GET_ALL_MOVIES_V1))
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    @Test
+    void getAllItems_Metrics() {
+
+        webTestClient.get()
+                .uri(contextPath.concat(GET_ALL_MOVIES_V1))
+                .exchange()
+                .expectStatus().isOk();
+
+        String metrics = webTestClient.get()
+                .uri(contextPath.concat("/actuator/prometheus"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertTrue(metrics.contains("http_server_requests_seconds_bucket"));
+        assertTrue(metrics.contains("uri=\"" + GET_ALL_MOVIES_V1 + "\""));
+        assertTrue(metrics.contains("employee_repository_invocations_seconds_bucket"));
+        assertTrue(metrics.contains("method=\"findAll\""));
+    }
+
+    @Test
+    void getAllItems_NotModified() {
+
+        String eTag = webTestClient.get()
+                .uri(contextPath.concat(GET_ALL_MOVIES_V1))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get()
+                .uri(contextPath.concat(GET_ALL_MOVIES_V1))
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        webTestClient.delete().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1000)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get()
+                .uri(contextPath.concat(GET_ALL_MOVIES_V1))
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void streamAllItems() {
+
+        List<Long> ids = webTestClient.get()
+                .uri(contextPath.concat(GET_ALL_MOVIES_V1))
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_STREAM_JSON)
+                .returnResult(Employee.class)
+                .getResponseBody()
+                .map(Employee::getId)
+                .toStream().collect(Collectors.toList());
+
+        assertTrue(ids.contains(1000L));
+        assertTrue(ids.contains(1001L));
+    }
+
+    @Test
+    void streamEmployeeByName() {
+
+        String body = webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_NAME_QUERY_PARAM_V1))
+                .queryParam("employee_name", "Bale")
+                .build())
+                .accept(MediaType.valueOf(APPLICATION_NDJSON_VALUE))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.valueOf(APPLICATION_NDJSON_VALUE))
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        String[] lines = body.trim().split("\n");
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"firstName\":\"Christian\""));
+    }
+
+    @Test
+    void streamEmployeeByName_NotFound() {
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_NAME_QUERY_PARAM_V1))
+                .queryParam("employee_name", "ABC")
+                .build())
+                .accept(MediaType.APPLICATION_STREAM_JSON)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void exportEmployeesCsv() {
+
+        String body = webTestClient.get()
+                .uri(contextPath.concat(EXPORT_EMPLOYEES_CSV_V1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.valueOf(TEXT_CSV_VALUE))
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        List<String> lines = Arrays.asList(body.split("\r\n"));
+        assertEquals("id,firstName,lastName,age,gender,role", lines.get(0));
+        assertTrue(lines.contains("1000,Adam,Sandler,42,male,Engineer"));
+        assertTrue(lines.contains("1001,Christian,Bale,53,male,Senior Engineer"));
+    }
+
+    @Test
+    void employeesPage() {
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            String currentCursor = cursor;
+            EmployeePage page = webTestClient.get().uri(uriBuilder -> {
+                uriBuilder.path(contextPath.concat(GET_EMPLOYEES_V1)).queryParam("size", 1);
+                if (currentCursor != null) {
+                    uriBuilder.queryParam("cursor", currentCursor);
+                }
+                return uriBuilder.build();
+            })
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(EmployeePage.class)
+                    .returnResult()
+                    .getResponseBody();
+
+            assertTrue(page.getEmployees().size() <= 1);
+            page.getEmployees().forEach(employee -> ids.add(employee.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+        assertTrue(ids.contains(1000L));
+        assertTrue(ids.contains(1001L));
+    }
+
+    @Test
+    void employeesPage_InvalidCursor() {
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(GET_EMPLOYEES_V1))
+                .queryParam("cursor", "not-a-cursor")
+                .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void employeeStats() {
+
+        webTestClient.get().uri(contextPath.concat(EMPLOYEE_STATS_V1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.headcount").isEqualTo(2)
+                .jsonPath("$.byRole.Engineer").isEqualTo(1)
+                .jsonPath("$.byRole['Senior Engineer']").isEqualTo(1)
+                .jsonPath("$.byGender.male").isEqualTo(2)
+                .jsonPath("$.minAge").isEqualTo(42)
+                .jsonPath("$.maxAge").isEqualTo(53)
+                .jsonPath("$.averageAge").isEqualTo(47.5);
+    }
+
+    @Test
+    void employeeStats_AfterWrites() {
+
+        webTestClient.patch().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1000)
+                .syncBody(new Employee(null, null, null, 30, null, "Manager"))
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri(contextPath.concat(EMPLOYEE_STATS_V1))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.headcount").isEqualTo(1)
+                .jsonPath("$.byRole.Manager").isEqualTo(1)
+                .jsonPath("$.byRole.Engineer").doesNotExist()
+                .jsonPath("$.byRoleAndGender.Manager.male").isEqualTo(1)
+                .jsonPath("$.minAge").isEqualTo(30)
+                .jsonPath("$.averageAge").isEqualTo(30.0);
+    }
+
+    @Test
+    void employeeChanges() throws Exception {
+
+        FluxExchangeResult<ServerSentEvent<EmployeeChange>> result = webTestClient.get()
+                .uri(contextPath.concat(EMPLOYEE_CHANGES_V1))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<EmployeeChange>>() {
+                });
+        CompletableFuture<List<EmployeeChange>> changes = result.getResponseBody()
+                .map(ServerSentEvent::data)
+                .filter(Objects::nonNull)
+                .take(3)
+                .collectList()
+                .toFuture();
+
+        // the feed is subscribed once the HEAD event made the headers arrive
+        webTestClient.patch().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .syncBody(new Employee(null, null, null, null, null, "Architect"))
+                .exchange()
+                .expectStatus().isNoContent();
+        webTestClient.delete().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1000)
+                .exchange()
+                .expectStatus().isOk();
+
+        List<EmployeeChange> received = changes.get(10, TimeUnit.SECONDS);
+        assertEquals(EmployeeChange.Type.HEAD, received.get(0).getType());
+        assertEquals(EmployeeChange.Type.PATCHED, received.get(1).getType());
+        assertEquals(received.get(0).getSequence() + 1, received.get(1).getSequence());
+        assertEquals("Architect", received.get(1).getEmployee().getRole());
+        assertNull(received.get(1).getEmployee().getFirstName());
+        assertEquals(EmployeeChange.Type.DELETED, received.get(2).getType());
+        assertEquals(Long.valueOf(1000), received.get(2).getId());
+    }
+
+    @Test
+    void employeeChanges_Expired() {
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_CHANGES_V1))
+                .queryParam("since", Long.MAX_VALUE)
+                .build())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.GONE);
+    }
+
     @Test
     void employeeById() {
 
@@ -71,12 +404,133 @@ public class EmployeeControllerTestIT {
 
     }
 
+    @Test
+    void employeeById_NotModified() {
+
+        String eTag = webTestClient.get().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectBody().isEmpty();
+
+        webTestClient.put().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .syncBody(new Employee(null, "Christian", "Bale", 54, "male", "Senior Engineer"))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .ifNoneMatch(eTag)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.age").isEqualTo(54);
+    }
+
+    @Test
+    void employeeById_AfterUpdate() {
+
+        webTestClient.get().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.age").isEqualTo(53);
+
+        webTestClient.put().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .syncBody(new Employee(null, "Christian", "Bale", 54, "male", "Senior Engineer"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // the cached JSON of the previous version must not be served
+        webTestClient.get().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1001)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON_UTF8)
+                .expectBody()
+                .jsonPath("$.age").isEqualTo(54)
+                .jsonPath("$.version").doesNotExist();
+    }
+
+    @Test
+    void employeeById_Fields() {
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1))
+                .queryParam("fields", "firstName,role")
+                .build(1001))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Christian")
+                .jsonPath("$.role").isEqualTo("Senior Engineer")
+                .jsonPath("$.id").doesNotExist()
+                .jsonPath("$.age").doesNotExist();
+    }
+
+    @Test
+    void employeeById_Fields_NotFound() {
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1))
+                .queryParam("fields", "id")
+                .build(123))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getAllItems_Fields() {
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(GET_ALL_MOVIES_V1))
+                .queryParam("fields", "id,lastName")
+                .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(2)
+                .jsonPath("$[0].id").isEqualTo(1000)
+                .jsonPath("$[0].lastName").isEqualTo("Sandler")
+                .jsonPath("$[0].firstName").doesNotExist()
+                .jsonPath("$[0].role").doesNotExist();
+    }
+
+    @Test
+    void getAllItems_InvalidFields() {
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(GET_ALL_MOVIES_V1))
+                .queryParam("fields", "id,salary")
+                .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void employeeByName_Fields() {
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_NAME_QUERY_PARAM_V1))
+                .queryParam("employee_name", "ndle")
+                .queryParam("fields", "id")
+                .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].id").isEqualTo(1000)
+                .jsonPath("$[0].lastName").doesNotExist();
+    }
+
     @Test
     void employeeById_NotFound() {
 
         webTestClient.get().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 123)
                 .exchange()
-                .expectStatus().isNotFound();
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo(NOT_FOUND_ID_MESSAGE + 123);
     }
 
     @Test
@@ -109,6 +563,43 @@ public class EmployeeControllerTestIT {
         assertEquals(1, movies.size());
     }
 
+    @Test
+    void employeeByPartialName() {
+
+        List<Employee> employees = webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_NAME_QUERY_PARAM_V1))
+                .queryParam("employee_name", "ndle")
+                .build())
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(Employee.class)
+                .getResponseBody()
+                .toStream().collect(Collectors.toList());
+
+        assertEquals(1, employees.size());
+        assertEquals("Sandler", employees.get(0).getLastName());
+    }
+
+    @Test
+    void employeeByName_AfterUpdate() {
+
+        webTestClient.put().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1000)
+                .syncBody(new Employee(null, "Adam", "Driver", 42, "male", "Engineer"))
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_NAME_QUERY_PARAM_V1))
+                .queryParam("employee_name", "Sandler")
+                .build())
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_NAME_QUERY_PARAM_V1))
+                .queryParam("employee_name", "Driver")
+                .build())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
     @Test
     void employeeByLastName_NotFound() {
 
@@ -150,12 +641,88 @@ public class EmployeeControllerTestIT {
                 .isEqualTo(expectedErrorMessage);
     }
 
+    @Test
+    void createEmployees() {
+
+        //given
+        List<Employee> employees = Arrays.asList(
+                new Employee(null, "Chris", "Evans", 50, "male", "Lead Engineer"),
+                new Employee(null, "Scarlett", "Johansson", 35, "female", "Architect"));
+
+        //when
+        BulkEmployeeResponse response = webTestClient.post().uri(contextPath.concat(ADD_EMPLOYEES_BULK_V1))
+                .syncBody(employees)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BulkEmployeeResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        //then
+        assertEquals(2, response.getCreated());
+        assertEquals(0, response.getFailed());
+        response.getResults().forEach(result -> assertNotNull(result.getId()));
+    }
+
+    @Test
+    void importEmployees() {
+
+        String body = "{\"firstName\":\"Iron\",\"lastName\":\"Man\",\"age\":54,\"gender\":\"male\",\"role\":\"Architect\"}\n"
+                + "\n"
+                + "{\"firstName\":\"Iron\"\n"
+                + "{\"lastName\":\"Man\",\"age\":54,\"gender\":\"male\",\"role\":\"Architect\"}\n";
+
+        EmployeeImportResponse response = webTestClient.post().uri(contextPath.concat(IMPORT_EMPLOYEES_V1))
+                .contentType(MediaType.valueOf(APPLICATION_NDJSON_VALUE))
+                .syncBody(body)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.MULTI_STATUS)
+                .expectBody(EmployeeImportResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(1, response.getCreated());
+        assertEquals(2, response.getFailed());
+        assertEquals(1, response.getChunks());
+        assertEquals(3, response.getErrors().get(0).getLine());
+        assertTrue(response.getErrors().get(0).getError().startsWith(INVALID_JSON_MESSAGE));
+        assertEquals(4, response.getErrors().get(1).getLine());
+        assertEquals("Please pass all the input fields : [firstName]", response.getErrors().get(1).getError());
+        assertEquals(1, employeeService.searchByName("Iron").size());
+    }
+
+    @Test
+    void createEmployees_Validating_Input_Data() {
+
+        //given
+        List<Employee> employees = Arrays.asList(
+                new Employee(null, "Chris", "Evans", 50, "male", "Lead Engineer"),
+                new Employee(null, "", null, null, "female", "Manager"));
+        String expectedErrorMessage = "Please pass all the input fields : [firstName, lastName]";
+
+        //when
+        BulkEmployeeResponse response = webTestClient.post().uri(contextPath.concat(ADD_EMPLOYEES_BULK_V1))
+                .syncBody(employees)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.MULTI_STATUS)
+                .expectBody(BulkEmployeeResponse.class)
+                .returnResult()
+                .getResponseBody();
+
+        //then
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertNotNull(response.getResults().get(0).getId());
+        assertNull(response.getResults().get(1).getId());
+        assertEquals(expectedErrorMessage, response.getResults().get(1).getError());
+    }
+
     @Test
     void createEmployeeEntity(){
         Employee employeeToUpdate = new Employee(null, "Chris", "Evans", 50, "male", "Lead Engineer");
         Employee updateEmployee = new Employee(null, "Chris1", "Evans1", 51, "male1", "Lead Engineer1");
 
-        employeeController.createEmployeeEntity(employeeToUpdate,updateEmployee);
+        employeeService.createEmployeeEntity(employeeToUpdate,updateEmployee);
 
         assertEquals(employeeToUpdate.getFirstName(), updateEmployee.getFirstName());
         assertEquals(employeeToUpdate.getLastName(), updateEmployee.getLastName());
@@ -198,6 +765,50 @@ public class EmployeeControllerTestIT {
                 .jsonPath("$.role").isEqualTo(role);
     }
 
+    @Test
+    void patchEmployee() {
+
+        //when
+        webTestClient.patch().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1000)
+                .syncBody(new Employee(null, null, "Driver", null, null, "Lead Engineer"))
+                .exchange()
+                .expectStatus().isNoContent();
+
+        //then
+        webTestClient.get().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1000)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Adam")
+                .jsonPath("$.lastName").isEqualTo("Driver")
+                .jsonPath("$.age").isEqualTo(42)
+                .jsonPath("$.role").isEqualTo("Lead Engineer");
+
+        webTestClient.get().uri(uriBuilder -> uriBuilder.path(contextPath.concat(EMPLOYEE_BY_NAME_QUERY_PARAM_V1))
+                .queryParam("employee_name", "Driver")
+                .build())
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void patchEmployee_NotFound() {
+
+        webTestClient.patch().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 2000)
+                .syncBody(new Employee(null, "Chris", null, null, null, null))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void patchEmployee_NoFields() {
+
+        webTestClient.patch().uri(contextPath.concat(EMPLOYEE_BY_ID_PATH_PARAM_V1), 1000)
+                .syncBody(new Employee())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void deleteMovie() {
 
@@ -222,6 +833,8 @@ public class EmployeeControllerTestIT {
 
         webTestClient.get().uri(contextPath+ERROR_ENDPOINT)
                 .exchange()
-                .expectStatus().is5xxServerError();
+                .expectStatus().is5xxServerError()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo(SERVER_ERROR_MESSAGE);
     }
 }
@@ -0,0 +1,13 @@
+package com.employeeservice.controller;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the EmployeeControllerTestIT suite against the reactive handlers on Netty.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+public class EmployeeReactiveTestIT extends EmployeeControllerTestIT {
+}
@@ -0,0 +1,50 @@
+package com.employeeservice.exception;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ErrorBodiesTest {
+
+    ErrorBodies errorBodies = new ErrorBodies();
+
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void renderWithDetail() throws IOException {
+
+        EmployeeErrorException ex = new EmployeeErrorException(HttpStatus.NOT_FOUND, "No Employee Available with the given name - ", "\"Adam\"\n");
+
+        JsonNode body = objectMapper.readTree(errorBodies.render(ex));
+
+        assertEquals(404, body.get("status").asInt());
+        assertEquals("Not Found", body.get("error").asText());
+        assertEquals("No Employee Available with the given name - \"Adam\"\n", body.get("message").asText());
+    }
+
+    @Test
+    void renderWithoutDetailIsCached() throws IOException {
+
+        EmployeeErrorException ex = new EmployeeErrorException(HttpStatus.INTERNAL_SERVER_ERROR, "RunTimeException from Employee Service", null);
+
+        byte[] body = errorBodies.render(ex);
+
+        assertSame(body, errorBodies.render(ex));
+        assertEquals("RunTimeException from Employee Service", objectMapper.readTree(body).get("message").asText());
+    }
+
+    @Test
+    void exceptionHasNoStackTrace() {
+
+        EmployeeErrorException ex = new EmployeeErrorException(HttpStatus.NOT_FOUND, "No Employee Available with the given Id - ", "1");
+
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals("No Employee Available with the given Id - 1", ex.getMessage());
+    }
+}
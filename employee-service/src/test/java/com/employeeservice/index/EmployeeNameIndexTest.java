@@ -0,0 +1,94 @@
+package com.employeeservice.index;
+
+import com.employeeservice.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeNameIndexTest {
+
+    private static final String ALPHABET = "abcde";
+
+    EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex();
+
+    @Test
+    void candidatesContainEveryMatch() {
+
+        Random random = new Random(42);
+        Map<Long, Employee> employees = new HashMap<>();
+        for (long id = 1; id <= 2000; id++) {
+            Employee employee = new Employee(id, randomName(random), randomName(random), 30, "male", "Engineer");
+            employees.put(id, employee);
+            employeeNameIndex.index(employee);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            String term = randomName(random).substring(0, 3);
+            Set<Long> expected = employees.values().stream()
+                    .filter(employee -> employee.getFirstName().contains(term) || employee.getLastName().contains(term))
+                    .map(Employee::getId)
+                    .collect(Collectors.toSet());
+
+            Set<Long> candidates = employeeNameIndex.candidates(term);
+
+            assertTrue(candidates.containsAll(expected));
+        }
+    }
+
+    @Test
+    void indexReplacesPreviousNames() {
+
+        employeeNameIndex.index(new Employee(1L, "Adam", "Sandler", 42, "male", "Engineer"));
+        employeeNameIndex.index(new Employee(1L, "Adam", "Driver", 42, "male", "Engineer"));
+
+        assertTrue(employeeNameIndex.candidates("ndle").isEmpty());
+        assertEquals(1, employeeNameIndex.candidates("rive").size());
+    }
+
+    @Test
+    void indexKeepsNamesThatAreNotPassed() {
+
+        employeeNameIndex.index(new Employee(1L, "Adam", "Sandler", 42, "male", "Engineer"));
+        employeeNameIndex.index(1L, null, "Driver");
+
+        assertEquals(1, employeeNameIndex.candidates("Adam").size());
+        assertEquals(1, employeeNameIndex.candidates("rive").size());
+        assertTrue(employeeNameIndex.candidates("ndle").isEmpty());
+    }
+
+    @Test
+    void remove() {
+
+        employeeNameIndex.index(new Employee(1L, "Adam", "Sandler", 42, "male", "Engineer"));
+        employeeNameIndex.remove(1L);
+
+        assertTrue(employeeNameIndex.candidates("Adam").isEmpty());
+    }
+
+    @Test
+    void supports() {
+
+        assertTrue(employeeNameIndex.supports("Ada"));
+        assertFalse(employeeNameIndex.supports("Ad"));
+        assertFalse(employeeNameIndex.supports("Ad%m"));
+        assertFalse(employeeNameIndex.supports("Ad_m"));
+        assertFalse(employeeNameIndex.supports("Ad\\m"));
+    }
+
+    private String randomName(Random random) {
+        StringBuilder name = new StringBuilder();
+        int length = 3 + random.nextInt(6);
+        for (int i = 0; i < length; i++) {
+            name.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return name.toString();
+    }
+}
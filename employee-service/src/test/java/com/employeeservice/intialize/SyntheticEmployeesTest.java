@@ -0,0 +1,45 @@
+package com.employeeservice.intialize;
+
+import com.employeeservice.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SyntheticEmployeesTest {
+
+    @Test
+    void sameSeedGeneratesSameEmployees() {
+
+        List<Employee> employees = new SyntheticEmployees(42).chunk(3, 100);
+
+        assertEquals(employees, new SyntheticEmployees(42).chunk(3, 100));
+        assertNotEquals(employees, new SyntheticEmployees(42).chunk(4, 100));
+        assertNotEquals(employees, new SyntheticEmployees(7).chunk(3, 100));
+    }
+
+    @Test
+    void nearbySeedsAndChunksGenerateDifferentEmployees() {
+
+        assertNotEquals(new SyntheticEmployees(1).chunk(0, 100), new SyntheticEmployees(0).chunk(31, 100));
+        assertNotEquals(new SyntheticEmployees(1).chunk(1, 100), new SyntheticEmployees(2).chunk(0, 100));
+    }
+
+    @Test
+    void employeesAreValid() {
+
+        List<Employee> employees = new SyntheticEmployees(42).chunk(0, 1000);
+
+        assertEquals(1000, employees.size());
+        employees.forEach(employee -> {
+            assertNull(employee.getId());
+            assertTrue(employee.getAge() >= 20 && employee.getAge() <= 67);
+            assertTrue(employee.getGender().equals("male") || employee.getGender().equals("female"));
+            assertTrue(!employee.getFirstName().isEmpty() && !employee.getLastName().isEmpty() && !employee.getRole().isEmpty());
+        });
+    }
+}
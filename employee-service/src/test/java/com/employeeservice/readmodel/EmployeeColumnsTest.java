@@ -0,0 +1,180 @@
+package com.employeeservice.readmodel;
+
+import com.employeeservice.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class EmployeeColumnsTest {
+
+    @Test
+    void putAndGet() {
+
+        EmployeeColumns columns = EmployeeColumns.EMPTY
+                .put(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 0))
+                .put(employee(2L, "Jenny", "Jones", 30, "female", "Manager", 3));
+
+        assertEquals(2, columns.size());
+        assertEquals(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 0), columns.get(1L));
+        assertEquals(employee(2L, "Jenny", "Jones", 30, "female", "Manager", 3), columns.get(2L));
+        assertEquals(Long.valueOf(3), columns.version(2L));
+        assertNull(columns.get(3L));
+        assertNull(columns.version(3L));
+    }
+
+    @Test
+    void putReplacesTheEmployeeWithTheSameId() {
+
+        EmployeeColumns columns = EmployeeColumns.EMPTY
+                .put(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 0))
+                .put(employee(1L, "Adam", "Driver", 43, "male", "Architect", 1));
+
+        assertEquals(1, columns.size());
+        assertEquals(employee(1L, "Adam", "Driver", 43, "male", "Architect", 1), columns.get(1L));
+    }
+
+    @Test
+    void putOfAnOlderVersionIsIgnored() {
+
+        EmployeeColumns columns = EmployeeColumns.EMPTY
+                .put(employee(1L, "Adam", "Driver", 43, "male", "Architect", 2));
+
+        assertSame(columns, columns.put(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 1)));
+        assertEquals(employee(1L, "Adam", "Driver", 43, "male", "Architect", 2), columns.get(1L));
+    }
+
+    @Test
+    void writesLeaveThePreviousSnapshotUnchanged() {
+
+        EmployeeColumns before = EmployeeColumns.EMPTY
+                .put(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 0));
+
+        EmployeeColumns after = before.put(employee(2L, "Jenny", "Jones", 30, "female", "Manager", 0))
+                .put(employee(1L, "Adam", "Driver", 42, "male", "Engineer", 1))
+                .remove(1L);
+
+        assertEquals(1, before.size());
+        assertEquals(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 0), before.get(1L));
+        assertNull(before.get(2L));
+        assertEquals(1, after.size());
+        assertNull(after.get(1L));
+    }
+
+    @Test
+    void patchSetsTheNonNullFieldsAndTheVersion() {
+
+        EmployeeColumns columns = EmployeeColumns.EMPTY
+                .put(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 4))
+                .patch(employee(1L, null, "Driver", null, null, "Architect", 6));
+
+        assertEquals(employee(1L, "Adam", "Driver", 42, "male", "Architect", 6), columns.get(1L));
+    }
+
+    @Test
+    void patchThatIsNotNewerIsIgnored() {
+
+        EmployeeColumns columns = EmployeeColumns.EMPTY
+                .put(employee(1L, "Adam", "Driver", 43, "male", "Architect", 5));
+
+        assertSame(columns, columns.patch(employee(1L, null, "Sandler", null, null, null, 5)));
+        assertSame(columns, columns.patch(employee(1L, null, "Sandler", null, null, null, 4)));
+    }
+
+    @Test
+    void patchAndRemoveOfAMissingEmployeeReturnTheSameSnapshot() {
+
+        EmployeeColumns columns = EmployeeColumns.EMPTY
+                .put(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 0));
+
+        assertSame(columns, columns.patch(new Employee(2L, "Jenny", null, null, null, null)));
+        assertSame(columns, columns.remove(2L));
+    }
+
+    @Test
+    void keepsNullFields() {
+
+        EmployeeColumns columns = EmployeeColumns.EMPTY
+                .put(employee(1L, null, "Sandler", null, null, "Engineer", 0))
+                .put(employee(2L, "Jenny", null, 30, "female", null, 0));
+
+        assertEquals(employee(1L, null, "Sandler", null, null, "Engineer", 0), columns.get(1L));
+        assertEquals(employee(2L, "Jenny", null, 30, "female", null, 0), columns.get(2L));
+    }
+
+    @Test
+    void keepsTheIdsOrderedAcrossSegments() {
+
+        int count = 3 * EmployeeColumns.SEGMENT_ROWS + 10;
+        EmployeeColumns.Builder builder = EmployeeColumns.builder();
+        for (long id = 2; id <= 2 * count; id += 2) {
+            builder.add(employee(id, "First" + id, "Last" + id, (int) (id % 60), id % 3 == 0 ? "female" : "male", "Engineer", 0));
+        }
+        EmployeeColumns columns = builder.build();
+
+        // odd ids land between the rows of the segments, the first one before every other row
+        columns = columns.put(employee(1L, "Adam", "Sandler", 42, "male", "Engineer", 0))
+                .put(employee(2L * EmployeeColumns.SEGMENT_ROWS + 1, "Jenny", "Jones", 30, "female", "Manager", 0))
+                .remove(4L)
+                .put(employee(2L * count + 2, "Last", "One", 20, "male", "Engineer", 0));
+
+        List<Long> ids = columns.all().stream().map(Employee::getId).collect(Collectors.toList());
+        assertEquals(count + 2, columns.size());
+        assertEquals(columns.size(), ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+        assertEquals("Jones", columns.get(2L * EmployeeColumns.SEGMENT_ROWS + 1).getLastName());
+        assertEquals("First6", columns.get(6L).getFirstName());
+        assertNull(columns.get(4L));
+    }
+
+    @Test
+    void afterReturnsThePageFollowingTheId() {
+
+        EmployeeColumns.Builder builder = EmployeeColumns.builder();
+        for (long id = 10; id <= 10 * (EmployeeColumns.SEGMENT_ROWS + 5); id += 10) {
+            builder.add(employee(id, "First", "Last", 30, "male", "Engineer", 0));
+        }
+        EmployeeColumns columns = builder.build();
+
+        assertEquals(ids(10L, 20L, 30L), pageIds(columns.after(Long.MIN_VALUE, 3)));
+        assertEquals(ids(30L, 40L), pageIds(columns.after(25L, 2)));
+        assertEquals(ids(30L, 40L), pageIds(columns.after(20L, 2)));
+        long lastOfFirstSegment = 10L * EmployeeColumns.SEGMENT_ROWS;
+        assertEquals(ids(lastOfFirstSegment, lastOfFirstSegment + 10, lastOfFirstSegment + 20),
+                pageIds(columns.after(lastOfFirstSegment - 10, 3)));
+        assertEquals(0, columns.after(10L * (EmployeeColumns.SEGMENT_ROWS + 5), 3).size());
+    }
+
+    @Test
+    void encodesNonAsciiNames() {
+
+        EmployeeColumns columns = EmployeeColumns.EMPTY
+                .put(employee(1L, "Zoë", "Müller-张", 42, "female", "Engineer", 0));
+
+        assertEquals("Zoë", columns.get(1L).getFirstName());
+        assertEquals("Müller-张", columns.get(1L).getLastName());
+    }
+
+    private static Employee employee(Long id, String firstName, String lastName, Integer age, String gender, String role,
+                                     long version) {
+        Employee employee = new Employee(id, firstName, lastName, age, gender, role);
+        employee.setVersion(version);
+        return employee;
+    }
+
+    private static List<Long> pageIds(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).collect(Collectors.toList());
+    }
+
+    private static List<Long> ids(Long... ids) {
+        return Arrays.asList(ids);
+    }
+}
@@ -0,0 +1,142 @@
+package com.employeeservice.snapshot;
+
+import com.employeeservice.dto.EmployeeChange;
+import com.employeeservice.entity.Employee;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EmployeeSnapshotFileTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("employee-snapshot");
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void snapshotRoundTrip() throws IOException {
+
+        Path file = directory.resolve(EmployeeSnapshotStore.SNAPSHOT_FILE);
+        try (EmployeeSnapshotFile.Writer writer = EmployeeSnapshotFile.writer(file, 7, 2)) {
+            writer.add(employee(1L, "Chris", 3));
+            writer.add(employee(2L, "Adam", 0));
+            writer.add(new Employee(3L, "Jenny", null, null, "female", "Senior Engineer"));
+            assertEquals(3, writer.commit());
+        }
+
+        try (EmployeeSnapshotFile snapshot = EmployeeSnapshotFile.open(file)) {
+            assertEquals(7, snapshot.getReplayFromSegment());
+            assertEquals(3, snapshot.getEmployeeCount());
+            assertEquals(2, snapshot.getBlocks().size());
+            List<Employee> employees = new ArrayList<>();
+            for (EmployeeSnapshotFile.Block block : snapshot.getBlocks()) {
+                employees.addAll(snapshot.decode(block));
+            }
+            assertEquals(employee(1L, "Chris", 3), employees.get(0));
+            assertEquals(3, employees.get(0).getVersion());
+            assertEquals("Adam", employees.get(1).getFirstName());
+            assertNull(employees.get(2).getLastName());
+            assertNull(employees.get(2).getAge());
+        }
+        assertFalse(Files.exists(directory.resolve(EmployeeSnapshotStore.SNAPSHOT_FILE + ".tmp")));
+    }
+
+    @Test
+    void uncommittedSnapshotLeavesThePreviousOne() throws IOException {
+
+        Path file = directory.resolve(EmployeeSnapshotStore.SNAPSHOT_FILE);
+        try (EmployeeSnapshotFile.Writer writer = EmployeeSnapshotFile.writer(file, 1, 10)) {
+            writer.add(employee(1L, "Chris", 0));
+        }
+
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void corruptBlockIsRejected() throws IOException {
+
+        Path file = directory.resolve(EmployeeSnapshotStore.SNAPSHOT_FILE);
+        try (EmployeeSnapshotFile.Writer writer = EmployeeSnapshotFile.writer(file, 1, 10)) {
+            writer.add(employee(1L, "Chris", 0));
+            writer.commit();
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(40);
+            raw.write(0xFF);
+        }
+
+        try (EmployeeSnapshotFile snapshot = EmployeeSnapshotFile.open(file)) {
+            assertThrows(IOException.class, () -> snapshot.decode(snapshot.getBlocks().get(0)));
+        }
+    }
+
+    @Test
+    void changeLogReplaysUpToATornRecord() throws IOException {
+
+        try (EmployeeChangeLog changeLog = new EmployeeChangeLog(directory)) {
+            changeLog.append(new EmployeeChange(1, EmployeeChange.Type.CREATED, 5L, employee(5L, "Amy", 0)));
+            Employee patched = new Employee(5L, null, null, 45, null, null);
+            patched.setVersion(1);
+            changeLog.append(new EmployeeChange(2, EmployeeChange.Type.PATCHED, 5L, patched));
+            changeLog.append(new EmployeeChange(3, EmployeeChange.Type.DELETED, 5L, null));
+        }
+        Path segment = EmployeeChangeLog.segments(directory).get(0);
+        try (RandomAccessFile raw = new RandomAccessFile(segment.toFile(), "rw")) {
+            raw.setLength(raw.length() - 3);
+        }
+
+        List<EmployeeChange> changes = new ArrayList<>();
+        assertEquals(2, EmployeeChangeLog.replay(segment, changes::add));
+        assertEquals(EmployeeChange.Type.UPDATED, changes.get(0).getType());
+        assertEquals("Amy", changes.get(0).getEmployee().getFirstName());
+        assertEquals(EmployeeChange.Type.PATCHED, changes.get(1).getType());
+        assertEquals(45, changes.get(1).getEmployee().getAge().intValue());
+        assertNull(changes.get(1).getEmployee().getFirstName());
+        assertEquals(1, changes.get(1).getEmployee().getVersion());
+    }
+
+    @Test
+    void changeLogContinuesAfterTheLastSegment() throws IOException {
+
+        try (EmployeeChangeLog changeLog = new EmployeeChangeLog(directory)) {
+            assertEquals(2, changeLog.rotate());
+        }
+        try (EmployeeChangeLog changeLog = new EmployeeChangeLog(directory)) {
+            assertEquals(3, changeLog.getSegment());
+            changeLog.deleteSegmentsBefore(3);
+        }
+
+        assertEquals(1, EmployeeChangeLog.segments(directory).size());
+    }
+
+    private Employee employee(Long id, String firstName, long version) {
+        Employee employee = new Employee(id, firstName, "Evans", 50, "male", "Lead Engineer");
+        employee.setVersion(version);
+        return employee;
+    }
+}
@@ -0,0 +1,31 @@
+package com.employeeservice.startup;
+
+import com.employeeservice.intialize.EmployeeDataInitializer;
+import com.employeeservice.stats.EmployeeStatistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LazyInitializationPostProcessorTest {
+
+    @Test
+    void applicationBeansBecomeLazy() {
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerBeanDefinition("employeeStatistics", new RootBeanDefinition(EmployeeStatistics.class));
+        beanFactory.registerBeanDefinition("employeeDataInitializer", new RootBeanDefinition(EmployeeDataInitializer.class));
+        RootBeanDefinition infrastructure = new RootBeanDefinition(StartupReport.class);
+        infrastructure.setRole(BeanDefinition.ROLE_INFRASTRUCTURE);
+        beanFactory.registerBeanDefinition("startupReport", infrastructure);
+
+        new LazyInitializationPostProcessor().postProcessBeanFactory(beanFactory);
+
+        assertTrue(beanFactory.getBeanDefinition("employeeStatistics").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("employeeDataInitializer").isLazyInit());
+        assertFalse(beanFactory.getBeanDefinition("startupReport").isLazyInit());
+    }
+}
@@ -0,0 +1,125 @@
+package com.employeeservice.stats;
+
+import com.employeeservice.dto.EmployeeStats;
+import com.employeeservice.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class EmployeeStatisticsTest {
+
+    EmployeeStatistics employeeStatistics = new EmployeeStatistics();
+
+    @Test
+    void recordReplacesPreviousFacts() {
+
+        employeeStatistics.record(new Employee(1L, "Adam", "Sandler", 42, "male", "Engineer"));
+        employeeStatistics.record(new Employee(2L, "Amy", "Adams", 44, "female", "Manager"));
+        employeeStatistics.record(new Employee(1L, "Adam", "Sandler", 43, "male", "Senior Engineer"));
+
+        EmployeeStats stats = employeeStatistics.snapshot();
+        assertEquals(2, stats.getHeadcount());
+        assertFalse(stats.getByRole().containsKey("Engineer"));
+        assertEquals(Long.valueOf(1), stats.getByRole().get("Senior Engineer"));
+        assertEquals(Long.valueOf(1), stats.getByRoleAndGender().get("Manager").get("female"));
+        assertEquals(Integer.valueOf(43), stats.getMinAge());
+        assertEquals(Integer.valueOf(44), stats.getMaxAge());
+        assertEquals(Double.valueOf(43.5), stats.getAverageAge());
+    }
+
+    @Test
+    void patchKeepsMissingValues() {
+
+        employeeStatistics.record(new Employee(1L, "Adam", "Sandler", 42, "male", "Engineer"));
+
+        employeeStatistics.patch(1L, 1, "Architect", null, null);
+        employeeStatistics.patch(2L, 1, "Director", null, null);
+
+        EmployeeStats stats = employeeStatistics.snapshot();
+        assertEquals(1, stats.getHeadcount());
+        assertEquals(Long.valueOf(1), stats.getByRole().get("Architect"));
+        assertEquals(Long.valueOf(1), stats.getByGender().get("male"));
+        assertEquals(Integer.valueOf(42), stats.getMinAge());
+    }
+
+    @Test
+    void remove() {
+
+        employeeStatistics.record(new Employee(1L, "Adam", "Sandler", 42, "male", "Engineer"));
+
+        employeeStatistics.remove(1L);
+        employeeStatistics.remove(1L);
+
+        EmployeeStats stats = employeeStatistics.snapshot();
+        assertEquals(0, stats.getHeadcount());
+        assertEquals(0, stats.getByRole().size());
+        assertNull(stats.getMinAge());
+        assertNull(stats.getAverageAge());
+    }
+
+    @Test
+    void olderWritesAreIgnored() {
+
+        employeeStatistics.record(employee(1L, 42, "Engineer", 3));
+        employeeStatistics.record(employee(1L, 41, "Intern", 2));
+        employeeStatistics.patch(1L, 3, "Intern", null, null);
+
+        EmployeeStats stats = employeeStatistics.snapshot();
+        assertEquals(1, stats.getHeadcount());
+        assertEquals(Long.valueOf(1), stats.getByRole().get("Engineer"));
+        assertEquals(Integer.valueOf(42), stats.getMinAge());
+    }
+
+    @Test
+    void recordAfterTheDeleteIsIgnored() {
+
+        employeeStatistics.record(employee(1L, 42, "Engineer", 0));
+        employeeStatistics.remove(1L);
+        employeeStatistics.record(employee(1L, 43, "Engineer", 1));
+
+        assertEquals(0, employeeStatistics.snapshot().getHeadcount());
+    }
+
+    @Test
+    void concurrentWrites() throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (long thread = 0; thread < 8; thread++) {
+            long first = thread * 1000;
+            futures.add(executor.submit(() -> {
+                for (long id = first; id < first + 1000; id++) {
+                    employeeStatistics.record(new Employee(id, "First", "Last", 30, "female", "Engineer"));
+                    employeeStatistics.patch(id, 1, "Manager", null, 40);
+                    if (id % 2 == 0) {
+                        employeeStatistics.remove(id);
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        EmployeeStats stats = employeeStatistics.snapshot();
+        assertEquals(4000, stats.getHeadcount());
+        assertEquals(Long.valueOf(4000), stats.getByRole().get("Manager"));
+        assertFalse(stats.getByRole().containsKey("Engineer"));
+        assertEquals(Double.valueOf(40.0), stats.getAverageAge());
+    }
+
+    private static Employee employee(Long id, Integer age, String role, long version) {
+        Employee employee = new Employee(id, "Adam", "Sandler", age, "male", role);
+        employee.setVersion(version);
+        return employee;
+    }
+}
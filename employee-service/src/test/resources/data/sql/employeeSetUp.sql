@@ -1,2 +1,3 @@
-insert into employee(id, firstname, lastname, age, gender, role) values (1000,'Adam', 'Sandler', 42, 'male','Engineer');
-insert into employee(id, firstname, lastname,age, gender, role) values (1001,'Christian', 'Bale', 53, 'male','Senior Engineer');
\ No newline at end of file
+delete from employee;
+insert into employee(id, firstname, lastname, age, gender, role, version) values (1000,'Adam', 'Sandler', 42, 'male','Engineer', 0);
+insert into employee(id, firstname, lastname,age, gender, role, version) values (1001,'Christian', 'Bale', 53, 'male','Senior Engineer', 0);
\ No newline at end of file